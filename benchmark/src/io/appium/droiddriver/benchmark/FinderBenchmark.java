@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.ElementNotFoundException;
+import io.appium.droiddriver.finders.Attribute;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.finders.MatchFinder;
+import io.appium.droiddriver.finders.Predicate;
+import io.appium.droiddriver.finders.Predicates;
+
+/**
+ * Benchmarks {@link MatchFinder}, {@link io.appium.droiddriver.finders.ChainFinder}
+ * and the {@link Predicates} they are composed of. Each finder looks for the
+ * element a MatchFinder visits last, so it traverses the whole tree.
+ */
+@State(Scope.Benchmark)
+public class FinderBenchmark {
+  private static final String MISSING = "\u0000missing";
+
+  private Finder matchHit;
+  private Finder matchMiss;
+  private Finder chain;
+  private Finder allOf;
+  private Finder anyOf;
+  private Finder withAncestor;
+  private Finder withSibling;
+  private Finder withDescendant;
+
+  @Setup
+  public void setUp(TreeState tree) {
+    MatchFinder target = new MatchFinder(
+        Predicates.attributeEquals(tree.targetAttribute, tree.targetValue));
+    matchHit = target;
+    matchMiss = new MatchFinder(Predicates.attributeEquals(tree.targetAttribute, MISSING));
+    // The first finder traverses up to the parent of the target, the second
+    // only the subtree of the parent
+    final UiElement parent = tree.parent;
+    chain = By.chain(new MatchFinder(new Predicate<UiElement>() {
+      @Override
+      public boolean apply(UiElement element) {
+        return element == parent;
+      }
+    }), target);
+    allOf = new MatchFinder(Predicates.allOf(
+        Predicates.attributeEquals(Attribute.CLASS, tree.targetClass),
+        Predicates.attributeEquals(tree.targetAttribute, tree.targetValue)));
+    anyOf = new MatchFinder(Predicates.anyOf(
+        Predicates.attributeEquals(tree.targetAttribute, MISSING),
+        Predicates.attributeEquals(Attribute.CLASS, MISSING),
+        Predicates.attributeEquals(tree.targetAttribute, tree.targetValue)));
+    withAncestor = new MatchFinder(Predicates.allOf(
+        Predicates.attributeEquals(tree.targetAttribute, tree.targetValue),
+        Predicates.withAncestor(Predicates.attributeEquals(Attribute.CLASS,
+            tree.root.getClassName()))));
+    // Siblings are checked for every element of the target class; there may
+    // be no match if the target is an only child
+    withSibling = new MatchFinder(Predicates.allOf(
+        Predicates.attributeEquals(Attribute.CLASS, tree.targetClass),
+        Predicates.withSibling(
+            Predicates.attributeEquals(tree.targetAttribute, tree.targetValue))));
+    // Descendants are searched for every element before the match, which is
+    // the parent of the target
+    withDescendant = By.allOf(By.className(tree.parentClass), By.withDescendant(target));
+  }
+
+  @Benchmark
+  public UiElement matchFinderHit(TreeState tree) {
+    return findOrNull(matchHit, tree.root);
+  }
+
+  @Benchmark
+  public UiElement matchFinderMiss(TreeState tree) {
+    return findOrNull(matchMiss, tree.root);
+  }
+
+  @Benchmark
+  public UiElement chainFinder(TreeState tree) {
+    return findOrNull(chain, tree.root);
+  }
+
+  @Benchmark
+  public UiElement predicatesAllOf(TreeState tree) {
+    return findOrNull(allOf, tree.root);
+  }
+
+  @Benchmark
+  public UiElement predicatesAnyOf(TreeState tree) {
+    return findOrNull(anyOf, tree.root);
+  }
+
+  @Benchmark
+  public UiElement predicatesWithAncestor(TreeState tree) {
+    return findOrNull(withAncestor, tree.root);
+  }
+
+  @Benchmark
+  public UiElement predicatesWithSibling(TreeState tree) {
+    return findOrNull(withSibling, tree.root);
+  }
+
+  @Benchmark
+  public UiElement byWithDescendant(TreeState tree) {
+    return findOrNull(withDescendant, tree.root);
+  }
+
+  static UiElement findOrNull(Finder finder, UiElement root) {
+    try {
+      return finder.find(root);
+    } catch (ElementNotFoundException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.appium.droiddriver.UiElement;
+
+/**
+ * Benchmarks {@link UiElement#toString} over every node, which is what logging
+ * and error messages pay.
+ */
+public class ToStringBenchmark {
+  @Benchmark
+  public void elementToString(TreeState tree, Blackhole blackhole) {
+    for (UiElement node : tree.nodes) {
+      blackhole.consume(node.toString());
+    }
+  }
+}
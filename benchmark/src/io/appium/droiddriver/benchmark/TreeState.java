@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.finders.Attribute;
+import io.appium.droiddriver.snapshot.SnapshotElement;
+
+/**
+ * A tree to benchmark over, and the element a MatchFinder visits last, which
+ * the benchmarks look for.
+ */
+@State(Scope.Benchmark)
+public class TreeState {
+  /**
+   * One of "wide", "deep" and "list", or the path of a recorded dump.
+   */
+  @Param({Trees.WIDE, Trees.DEEP, Trees.LIST})
+  public String shape;
+
+  /**
+   * The number of nodes of a synthetic tree; ignored for recorded dumps.
+   */
+  @Param({"1000", "10000", "50000"})
+  public int size;
+
+  SnapshotElement root;
+  List<UiElement> nodes;
+  UiElement target;
+  // The attribute that identifies the target, and its value
+  Attribute targetAttribute;
+  String targetValue;
+  String targetClass;
+  // The parent of the target, or the target itself if it is the root
+  UiElement parent;
+  String parentClass;
+
+  @Setup
+  public void setUp() throws IOException {
+    root = Trees.create(shape, size);
+    nodes = Trees.flatten(root);
+    target = Trees.lastVisibleLeaf(root);
+    targetClass = target.getClassName();
+    parent = target.getParent() == null ? target : target.getParent();
+    parentClass = parent.getClassName();
+    for (Attribute attribute : new Attribute[] {Attribute.TEXT, Attribute.CONTENT_DESC,
+        Attribute.RESOURCE_ID, Attribute.CLASS}) {
+      String value = target.get(attribute);
+      if (value != null) {
+        targetAttribute = attribute;
+        targetValue = value;
+        break;
+      }
+    }
+    if (targetValue == null) {
+      throw new IllegalStateException("Cannot identify " + target);
+    }
+  }
+}
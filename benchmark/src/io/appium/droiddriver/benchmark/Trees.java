@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.benchmark;
+
+import android.graphics.Rect;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.finders.Attribute;
+import io.appium.droiddriver.snapshot.SnapshotElement;
+import io.appium.droiddriver.snapshot.Snapshots;
+
+/**
+ * Creates UiElement trees to benchmark over.
+ */
+final class Trees {
+  static final String WIDE = "wide";
+  static final String DEEP = "deep";
+  static final String LIST = "list";
+
+  private static final String PACKAGE = "com.example";
+  // The depth of each column of a deep tree; a realistic worst case
+  private static final int DEEP_COLUMN_DEPTH = 50;
+  // A list row: LinearLayout, ImageView, TextView, TextView, CheckBox
+  private static final int LIST_ROW_SIZE = 5;
+  private static final int ROW_HEIGHT = 100;
+
+  /**
+   * Creates a tree of {@code shape} with about {@code size} nodes. If
+   * {@code shape} is not one of the synthetic shapes, it is the path of a
+   * recorded dump, and {@code size} is ignored.
+   */
+  static SnapshotElement create(String shape, int size) throws IOException {
+    if (WIDE.equals(shape)) {
+      return wide(size);
+    }
+    if (DEEP.equals(shape)) {
+      return deep(size);
+    }
+    if (LIST.equals(shape)) {
+      return list(size);
+    }
+    return shape.endsWith(Snapshots.FILE_SUFFIX) ? Snapshots.read(shape)
+        : Snapshots.fromXml(shape);
+  }
+
+  /** A root with {@code size - 1} leaf children. */
+  static SnapshotElement wide(int size) {
+    SnapshotElement.Builder root = node("android.widget.FrameLayout", null, 0, size);
+    for (int i = 1; i < size; i++) {
+      root.addChild(node("android.widget.TextView", "Text " + i, i - 1, 1));
+    }
+    return root.build();
+  }
+
+  /** Columns of {@link #DEEP_COLUMN_DEPTH} nested layouts, each ending with a leaf. */
+  static SnapshotElement deep(int size) {
+    SnapshotElement.Builder root = node("android.widget.LinearLayout", null, 0, 1);
+    int remaining = size - 1;
+    int column = 0;
+    while (remaining > 0) {
+      int depth = Math.min(DEEP_COLUMN_DEPTH, remaining);
+      SnapshotElement.Builder parent = root;
+      for (int i = 1; i < depth; i++) {
+        SnapshotElement.Builder layout = node("android.widget.FrameLayout", null, column, 1);
+        parent.addChild(layout);
+        parent = layout;
+      }
+      parent.addChild(node("android.widget.TextView", "Text " + column, column, 1));
+      remaining -= depth;
+      column++;
+    }
+    return root.build();
+  }
+
+  /** A toolbar and a ListView whose rows have an icon, two lines of text and a checkbox. */
+  static SnapshotElement list(int size) {
+    SnapshotElement.Builder root = node("android.widget.LinearLayout", null, 0, size);
+    root.addChild(node("android.widget.Toolbar", null, 0, 1)
+        .addChild(node("android.widget.TextView", "Title", 0, 1)));
+    int rows = Math.max(1, (size - 4) / LIST_ROW_SIZE);
+    SnapshotElement.Builder listView = node("android.widget.ListView", null, 1, rows)
+        .set(Attribute.SCROLLABLE, true);
+    root.addChild(listView);
+    for (int i = 0; i < rows; i++) {
+      SnapshotElement.Builder row = node("android.widget.LinearLayout", null, i + 1, 1)
+          .set(Attribute.CLICKABLE, true).set(Attribute.RESOURCE_ID, PACKAGE + ":id/row");
+      row.addChild(node("android.widget.ImageView", null, i + 1, 1)
+          .set(Attribute.RESOURCE_ID, PACKAGE + ":id/icon")
+          .set(Attribute.CONTENT_DESC, "Icon " + i));
+      row.addChild(node("android.widget.TextView", "Title " + i, i + 1, 1)
+          .set(Attribute.RESOURCE_ID, PACKAGE + ":id/title"));
+      row.addChild(node("android.widget.TextView", "Subtitle " + i, i + 1, 1)
+          .set(Attribute.RESOURCE_ID, PACKAGE + ":id/subtitle"));
+      row.addChild(node("android.widget.CheckBox", null, i + 1, 1)
+          .set(Attribute.CHECKABLE, true).set(Attribute.CHECKED, i % 3 == 0)
+          .set(Attribute.CONTENT_DESC, "Select " + i)
+          .set(Attribute.RESOURCE_ID, PACKAGE + ":id/check"));
+      listView.addChild(row);
+    }
+    return root.build();
+  }
+
+  private static SnapshotElement.Builder node(String className, String text, int row, int rows) {
+    return new SnapshotElement.Builder().set(Attribute.CLASS, className)
+        .set(Attribute.PACKAGE, PACKAGE).set(Attribute.TEXT, text)
+        .set(Attribute.ENABLED, true)
+        .setBounds(new Rect(0, row * ROW_HEIGHT, 1080, (row + rows) * ROW_HEIGHT));
+  }
+
+  /**
+   * Returns the last visible leaf in pre-order, which a MatchFinder visits
+   * last.
+   */
+  static UiElement lastVisibleLeaf(UiElement root) {
+    UiElement element = root;
+    while (true) {
+      List<? extends UiElement> children = element.getChildren(UiElement.VISIBLE);
+      if (children.isEmpty()) {
+        return element;
+      }
+      element = children.get(children.size() - 1);
+    }
+  }
+
+  /** Returns all nodes in pre-order, including invisible ones. */
+  static List<UiElement> flatten(UiElement root) {
+    List<UiElement> nodes = new ArrayList<UiElement>();
+    flatten(root, nodes);
+    return nodes;
+  }
+
+  private static void flatten(UiElement element, List<UiElement> nodes) {
+    nodes.add(element);
+    for (UiElement child : element.getChildren(null)) {
+      flatten(child, nodes);
+    }
+  }
+
+  private Trees() {}
+}
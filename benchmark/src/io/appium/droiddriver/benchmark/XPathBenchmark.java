@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.ByXPath;
+import io.appium.droiddriver.finders.XPaths;
+
+/**
+ * Benchmarks {@link ByXPath}. Evaluation against a warm DOM shows the cost of
+ * XPath itself; against a cold DOM it includes building the DOM, which is what
+ * happens after every refresh of the UiElement tree.
+ */
+@State(Scope.Benchmark)
+public class XPathBenchmark {
+  private String xPath;
+  private ByXPath finder;
+  private List<String> classNames;
+
+  @Setup
+  public void setUp(TreeState tree) {
+    xPath = "//" + XPaths.tag(tree.parentClass) + "/"
+        + XPaths.tag(tree.targetClass) + XPaths.attr(tree.targetAttribute, tree.targetValue);
+    finder = By.xpath(xPath);
+    Set<String> distinct = new LinkedHashSet<String>();
+    for (UiElement node : tree.nodes) {
+      distinct.add(node.getClassName());
+    }
+    classNames = new ArrayList<String>(distinct);
+    // Warm up the DOM of this tree
+    ByXPath.clearData();
+    FinderBenchmark.findOrNull(finder, tree.root);
+  }
+
+  @Benchmark
+  public ByXPath compile() {
+    return By.xpath(xPath);
+  }
+
+  @Benchmark
+  public UiElement evaluateWarm(TreeState tree) {
+    return FinderBenchmark.findOrNull(finder, tree.root);
+  }
+
+  @Benchmark
+  public UiElement evaluateCold(TreeState tree) {
+    ByXPath.clearData();
+    return FinderBenchmark.findOrNull(finder, tree.root);
+  }
+
+  @Benchmark
+  public void xPathsTag(Blackhole blackhole) {
+    for (String className : classNames) {
+      blackhole.consume(XPaths.tag(className));
+    }
+  }
+}
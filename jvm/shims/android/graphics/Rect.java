@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.graphics;
+
+/**
+ * JVM shim of android.graphics.Rect, with the same semantics for the methods
+ * DroidDriver uses.
+ */
+public final class Rect {
+  public int left;
+  public int top;
+  public int right;
+  public int bottom;
+
+  public Rect() {}
+
+  public Rect(int left, int top, int right, int bottom) {
+    set(left, top, right, bottom);
+  }
+
+  public Rect(Rect r) {
+    if (r != null) {
+      set(r);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Rect)) {
+      return false;
+    }
+    Rect r = (Rect) o;
+    return left == r.left && top == r.top && right == r.right && bottom == r.bottom;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * (31 * left + top) + right) + bottom;
+  }
+
+  @Override
+  public String toString() {
+    return "Rect(" + left + ", " + top + " - " + right + ", " + bottom + ")";
+  }
+
+  public String toShortString() {
+    return "[" + left + "," + top + "][" + right + "," + bottom + "]";
+  }
+
+  public String flattenToString() {
+    return left + " " + top + " " + right + " " + bottom;
+  }
+
+  public boolean isEmpty() {
+    return left >= right || top >= bottom;
+  }
+
+  public int width() {
+    return right - left;
+  }
+
+  public int height() {
+    return bottom - top;
+  }
+
+  public int centerX() {
+    return (left + right) >> 1;
+  }
+
+  public int centerY() {
+    return (top + bottom) >> 1;
+  }
+
+  public float exactCenterX() {
+    return (left + right) * 0.5f;
+  }
+
+  public float exactCenterY() {
+    return (top + bottom) * 0.5f;
+  }
+
+  public void setEmpty() {
+    left = right = top = bottom = 0;
+  }
+
+  public void set(int left, int top, int right, int bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+  }
+
+  public void set(Rect src) {
+    set(src.left, src.top, src.right, src.bottom);
+  }
+
+  public void offset(int dx, int dy) {
+    left += dx;
+    top += dy;
+    right += dx;
+    bottom += dy;
+  }
+
+  public void offsetTo(int newLeft, int newTop) {
+    right += newLeft - left;
+    bottom += newTop - top;
+    left = newLeft;
+    top = newTop;
+  }
+
+  public void inset(int dx, int dy) {
+    left += dx;
+    top += dy;
+    right -= dx;
+    bottom -= dy;
+  }
+
+  public boolean contains(int x, int y) {
+    return left < right && top < bottom && x >= left && x < right && y >= top && y < bottom;
+  }
+
+  public boolean contains(int left, int top, int right, int bottom) {
+    return this.left < this.right && this.top < this.bottom && this.left <= left
+        && this.top <= top && this.right >= right && this.bottom >= bottom;
+  }
+
+  public boolean contains(Rect r) {
+    return contains(r.left, r.top, r.right, r.bottom);
+  }
+
+  public boolean intersect(int left, int top, int right, int bottom) {
+    if (this.left < right && left < this.right && this.top < bottom && top < this.bottom) {
+      set(Math.max(this.left, left), Math.max(this.top, top), Math.min(this.right, right),
+          Math.min(this.bottom, bottom));
+      return true;
+    }
+    return false;
+  }
+
+  public boolean intersect(Rect r) {
+    return intersect(r.left, r.top, r.right, r.bottom);
+  }
+
+  public boolean setIntersect(Rect a, Rect b) {
+    if (intersects(a, b)) {
+      set(Math.max(a.left, b.left), Math.max(a.top, b.top), Math.min(a.right, b.right),
+          Math.min(a.bottom, b.bottom));
+      return true;
+    }
+    return false;
+  }
+
+  public boolean intersects(int left, int top, int right, int bottom) {
+    return this.left < right && left < this.right && this.top < bottom && top < this.bottom;
+  }
+
+  public static boolean intersects(Rect a, Rect b) {
+    return a.left < b.right && b.left < a.right && a.top < b.bottom && b.top < a.bottom;
+  }
+
+  public void union(int left, int top, int right, int bottom) {
+    if (left >= right || top >= bottom) {
+      return;
+    }
+    if (this.left < this.right && this.top < this.bottom) {
+      set(Math.min(this.left, left), Math.min(this.top, top), Math.max(this.right, right),
+          Math.max(this.bottom, bottom));
+    } else {
+      set(left, top, right, bottom);
+    }
+  }
+
+  public void union(Rect r) {
+    union(r.left, r.top, r.right, r.bottom);
+  }
+
+  public void union(int x, int y) {
+    left = Math.min(left, x);
+    right = Math.max(right, x);
+    top = Math.min(top, y);
+    bottom = Math.max(bottom, y);
+  }
+
+  public void sort() {
+    if (left > right) {
+      int temp = left;
+      left = right;
+      right = temp;
+    }
+    if (top > bottom) {
+      int temp = top;
+      top = bottom;
+      bottom = temp;
+    }
+  }
+}
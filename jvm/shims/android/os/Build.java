@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.os;
+
+/**
+ * JVM shim of android.os.Build. The SDK version can be set with the system
+ * property "droiddriver.sdkInt"; it defaults to 21, the compileSdkVersion of
+ * DroidDriver.
+ */
+public class Build {
+  public static final String MANUFACTURER = "jvm";
+  public static final String MODEL = "jvm";
+  public static final String FINGERPRINT = "jvm";
+
+  public static class VERSION {
+    public static final int SDK_INT = Integer.getInteger("droiddriver.sdkInt", 21);
+    public static final String RELEASE = "jvm";
+  }
+
+  // Compiled code inlines these constants from android.jar; they are here for
+  // completeness.
+  public static class VERSION_CODES {
+    public static final int BASE = 1;
+    public static final int DONUT = 4;
+    public static final int ECLAIR = 5;
+    public static final int FROYO = 8;
+    public static final int GINGERBREAD = 9;
+    public static final int HONEYCOMB = 11;
+    public static final int HONEYCOMB_MR1 = 12;
+    public static final int HONEYCOMB_MR2 = 13;
+    public static final int ICE_CREAM_SANDWICH = 14;
+    public static final int ICE_CREAM_SANDWICH_MR1 = 15;
+    public static final int JELLY_BEAN = 16;
+    public static final int JELLY_BEAN_MR1 = 17;
+    public static final int JELLY_BEAN_MR2 = 18;
+    public static final int KITKAT = 19;
+    public static final int KITKAT_WATCH = 20;
+    public static final int LOLLIPOP = 21;
+  }
+}
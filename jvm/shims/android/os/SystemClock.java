@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.os;
+
+/**
+ * JVM shim of android.os.SystemClock, based on {@link System#nanoTime}.
+ */
+public final class SystemClock {
+  private static final long START_NANOS = System.nanoTime();
+
+  public static long uptimeMillis() {
+    return (System.nanoTime() - START_NANOS) / 1000000L;
+  }
+
+  public static long elapsedRealtime() {
+    return uptimeMillis();
+  }
+
+  public static long elapsedRealtimeNanos() {
+    return System.nanoTime() - START_NANOS;
+  }
+
+  /**
+   * Like {@link Thread#sleep}, but ignores interrupts, like the Android
+   * version. The interrupted status is restored before returning.
+   */
+  public static void sleep(long ms) {
+    long end = uptimeMillis() + ms;
+    boolean interrupted = false;
+    long remaining = ms;
+    while (remaining > 0) {
+      try {
+        Thread.sleep(remaining);
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+      remaining = end - uptimeMillis();
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private SystemClock() {}
+}
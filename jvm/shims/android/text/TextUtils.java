@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.text;
+
+/**
+ * JVM shim of android.text.TextUtils with the methods DroidDriver uses.
+ */
+public class TextUtils {
+  public static boolean isEmpty(CharSequence str) {
+    return str == null || str.length() == 0;
+  }
+
+  public static String join(CharSequence delimiter, Object[] tokens) {
+    StringBuilder sb = new StringBuilder();
+    boolean first = true;
+    for (Object token : tokens) {
+      if (!first) {
+        sb.append(delimiter);
+      }
+      first = false;
+      sb.append(token);
+    }
+    return sb.toString();
+  }
+
+  public static String join(CharSequence delimiter, Iterable<?> tokens) {
+    StringBuilder sb = new StringBuilder();
+    boolean first = true;
+    for (Object token : tokens) {
+      if (!first) {
+        sb.append(delimiter);
+      }
+      first = false;
+      sb.append(token);
+    }
+    return sb.toString();
+  }
+
+  public static boolean equals(CharSequence a, CharSequence b) {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null || a.length() != b.length()) {
+      return false;
+    }
+    return a.toString().equals(b.toString());
+  }
+
+  private TextUtils() {}
+}
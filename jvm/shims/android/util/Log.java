@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * JVM shim of android.util.Log that prints to System.err. Messages below the
+ * level set by the system property "droiddriver.logLevel" (a priority such as
+ * 4 for INFO; defaults to INFO) are not loggable.
+ */
+public final class Log {
+  public static final int VERBOSE = 2;
+  public static final int DEBUG = 3;
+  public static final int INFO = 4;
+  public static final int WARN = 5;
+  public static final int ERROR = 6;
+  public static final int ASSERT = 7;
+
+  private static final String LEVELS = "??VDIWEA";
+  private static final int MIN_LEVEL = Integer.getInteger("droiddriver.logLevel", INFO);
+
+  public static boolean isLoggable(String tag, int level) {
+    return level >= MIN_LEVEL;
+  }
+
+  public static int println(int priority, String tag, String msg) {
+    String line = LEVELS.charAt(Math.max(0, Math.min(priority, ASSERT))) + "/" + tag + ": " + msg;
+    System.err.println(line);
+    return line.length();
+  }
+
+  public static String getStackTraceString(Throwable tr) {
+    if (tr == null) {
+      return "";
+    }
+    StringWriter sw = new StringWriter();
+    tr.printStackTrace(new PrintWriter(sw));
+    return sw.toString();
+  }
+
+  public static int v(String tag, String msg) {
+    return println(VERBOSE, tag, msg);
+  }
+
+  public static int v(String tag, String msg, Throwable tr) {
+    return println(VERBOSE, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  public static int d(String tag, String msg) {
+    return println(DEBUG, tag, msg);
+  }
+
+  public static int d(String tag, String msg, Throwable tr) {
+    return println(DEBUG, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  public static int i(String tag, String msg) {
+    return println(INFO, tag, msg);
+  }
+
+  public static int i(String tag, String msg, Throwable tr) {
+    return println(INFO, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  public static int w(String tag, String msg) {
+    return println(WARN, tag, msg);
+  }
+
+  public static int w(String tag, String msg, Throwable tr) {
+    return println(WARN, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  public static int w(String tag, Throwable tr) {
+    return println(WARN, tag, getStackTraceString(tr));
+  }
+
+  public static int e(String tag, String msg) {
+    return println(ERROR, tag, msg);
+  }
+
+  public static int e(String tag, String msg, Throwable tr) {
+    return println(ERROR, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  public static int wtf(String tag, String msg) {
+    return println(ASSERT, tag, msg);
+  }
+
+  public static int wtf(String tag, String msg, Throwable tr) {
+    return println(ASSERT, tag, msg + '\n' + getStackTraceString(tr));
+  }
+
+  private Log() {}
+}
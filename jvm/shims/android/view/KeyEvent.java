@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+/**
+ * JVM shim of android.view.KeyEvent with the members DroidDriver uses.
+ */
+public class KeyEvent extends InputEvent {
+  public static final int ACTION_DOWN = 0;
+  public static final int ACTION_UP = 1;
+
+  private final long downTime;
+  private final long eventTime;
+  private final int action;
+  private final int keyCode;
+  private final int repeat;
+  private final int metaState;
+  private int source;
+
+  public KeyEvent(long downTime, long eventTime, int action, int keyCode, int repeat,
+      int metaState) {
+    this.downTime = downTime;
+    this.eventTime = eventTime;
+    this.action = action;
+    this.keyCode = keyCode;
+    this.repeat = repeat;
+    this.metaState = metaState;
+  }
+
+  public static KeyEvent changeTimeRepeat(KeyEvent event, long eventTime, int newRepeat) {
+    KeyEvent changed = new KeyEvent(event.downTime, eventTime, event.action, event.keyCode,
+        newRepeat, event.metaState);
+    changed.source = event.source;
+    return changed;
+  }
+
+  public static String keyCodeToString(int keyCode) {
+    return "KEYCODE_" + keyCode;
+  }
+
+  public final long getDownTime() {
+    return downTime;
+  }
+
+  public final long getEventTime() {
+    return eventTime;
+  }
+
+  public final int getAction() {
+    return action;
+  }
+
+  public final int getKeyCode() {
+    return keyCode;
+  }
+
+  public final int getRepeatCount() {
+    return repeat;
+  }
+
+  public final int getMetaState() {
+    return metaState;
+  }
+
+  @Override
+  public final int getSource() {
+    return source;
+  }
+
+  @Override
+  public final void setSource(int source) {
+    this.source = source;
+  }
+
+  @Override
+  public String toString() {
+    return "KeyEvent { action=" + (action == ACTION_DOWN ? "ACTION_DOWN" : "ACTION_UP")
+        + ", keyCode=" + keyCodeToString(keyCode) + ", eventTime=" + eventTime + " }";
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+/**
+ * JVM shim of android.view.MotionEvent with a single pointer, for the touch
+ * events DroidDriver synthesizes. Events are not pooled; {@link #recycle} does
+ * nothing.
+ */
+public final class MotionEvent extends InputEvent {
+  public static final int ACTION_MASK = 0xff;
+  public static final int ACTION_DOWN = 0;
+  public static final int ACTION_UP = 1;
+  public static final int ACTION_MOVE = 2;
+  public static final int ACTION_CANCEL = 3;
+
+  private static final String[] ACTION_NAMES = {"ACTION_DOWN", "ACTION_UP", "ACTION_MOVE",
+      "ACTION_CANCEL"};
+
+  private long downTime;
+  private long eventTime;
+  private int action;
+  private float x;
+  private float y;
+  private int metaState;
+  private int source;
+
+  private MotionEvent() {}
+
+  public static MotionEvent obtain(long downTime, long eventTime, int action, float x, float y,
+      int metaState) {
+    MotionEvent event = new MotionEvent();
+    event.downTime = downTime;
+    event.eventTime = eventTime;
+    event.action = action;
+    event.x = x;
+    event.y = y;
+    event.metaState = metaState;
+    return event;
+  }
+
+  public static MotionEvent obtain(MotionEvent other) {
+    MotionEvent event = obtain(other.downTime, other.eventTime, other.action, other.x, other.y,
+        other.metaState);
+    event.source = other.source;
+    return event;
+  }
+
+  public void recycle() {}
+
+  public long getDownTime() {
+    return downTime;
+  }
+
+  public long getEventTime() {
+    return eventTime;
+  }
+
+  public int getAction() {
+    return action;
+  }
+
+  public int getActionMasked() {
+    return action & ACTION_MASK;
+  }
+
+  public void setAction(int action) {
+    this.action = action;
+  }
+
+  public float getX() {
+    return x;
+  }
+
+  public float getY() {
+    return y;
+  }
+
+  public int getMetaState() {
+    return metaState;
+  }
+
+  @Override
+  public int getSource() {
+    return source;
+  }
+
+  @Override
+  public void setSource(int source) {
+    this.source = source;
+  }
+
+  public static String actionToString(int action) {
+    return action >= 0 && action < ACTION_NAMES.length ? ACTION_NAMES[action]
+        : Integer.toString(action);
+  }
+
+  @Override
+  public String toString() {
+    return "MotionEvent { action=" + actionToString(action) + ", x=" + x + ", y=" + y
+        + ", eventTime=" + eventTime + ", downTime=" + downTime + " }";
+  }
+}
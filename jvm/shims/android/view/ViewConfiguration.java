@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+/**
+ * JVM shim of android.view.ViewConfiguration with the static timeouts
+ * DroidDriver uses, set to the framework defaults.
+ */
+public class ViewConfiguration {
+  private static final int TAP_TIMEOUT = 100;
+  private static final int DOUBLE_TAP_TIMEOUT = 300;
+  private static final int LONG_PRESS_TIMEOUT = 500;
+
+  public static int getTapTimeout() {
+    return TAP_TIMEOUT;
+  }
+
+  public static int getDoubleTapTimeout() {
+    return DOUBLE_TAP_TIMEOUT;
+  }
+
+  public static int getLongPressTimeout() {
+    return LONG_PRESS_TIMEOUT;
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import android.util.Log;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.appium.droiddriver.UiDevice;
+import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.base.BaseDroidDriver;
+import io.appium.droiddriver.exceptions.DroidDriverException;
+import io.appium.droiddriver.util.Clock;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+import io.appium.droiddriver.util.VirtualClock;
+
+/**
+ * A DroidDriver for a simulated UI on a plain JVM. Unlike
+ * {@link io.appium.droiddriver.snapshot.SnapshotDriver}, the UI reacts to
+ * input: actions inject touch events, which are interpreted as taps, long
+ * presses and swipes; lists scroll, fling and load pages; and views can appear
+ * and disappear over time. Until it is {@link #close}d, it installs a
+ * {@link VirtualClock} with {@link Clock#set}, so pollers, scrollers and
+ * gestures run deterministically without real waiting, and reports what they
+ * did in {@link #getStats}, for example, to compare the number of refreshes,
+ * scroll steps and virtual time of scroller strategies:
+ * <pre>
+ * SimulatedList list = new SimulatedList(500, 150, SimulatedList.textAdapter("Item "));
+ * list.setPaging(50, 800L).setFrame(0, 0, 1080, 1920);
+ * try (SimulatedDriver driver = new SimulatedDriver(list)) {
+ *   new StepBasedScroller(StaticSentinelStrategy.DEFAULT).scrollTo(driver,
+ *       By.className("android.widget.ListView"), By.text("Item 420"));
+ *   SimulationStats stats = driver.getStats();
+ * }
+ * </pre>
+ */
+public class SimulatedDriver extends BaseDroidDriver<SimulatedView, SimulatedElement>
+    implements Closeable {
+  private final SimulatedView rootView;
+  private final SimulatedInputInjector injector = new SimulatedInputInjector(this);
+  private final SimulatedUiDevice uiDevice = new SimulatedUiDevice(this);
+  private final List<SimulatedEvent> events = new ArrayList<SimulatedEvent>();
+  private final Clock previousClock;
+  private final VirtualClock clock;
+  private long refreshMillis;
+  private int refreshCount;
+  private int swipeCount;
+  private int tapCount;
+  private long statsStartMillis;
+
+  /**
+   * Installs a new {@link VirtualClock} unless one is already installed, for
+   * example, by a test or another SimulatedDriver, in which case it is shared.
+   *
+   * @param rootView the root of the simulated UI; its frame is the screen
+   */
+  public SimulatedDriver(SimulatedView rootView) {
+    if (rootView.getParent() != null) {
+      throw new DroidDriverException("Not a root view: " + rootView);
+    }
+    this.rootView = rootView;
+    previousClock = Clock.get();
+    if (previousClock instanceof VirtualClock) {
+      clock = (VirtualClock) previousClock;
+    } else {
+      clock = new VirtualClock();
+      Clock.set(clock);
+    }
+    statsStartMillis = clock.uptimeMillis();
+  }
+
+  public SimulatedView getRootView() {
+    return rootView;
+  }
+
+  /**
+   * Returns the virtual clock the simulated UI runs on.
+   */
+  public VirtualClock getClock() {
+    return clock;
+  }
+
+  /**
+   * Restores the clock that was in use when this driver was created, unless
+   * another clock has been installed since.
+   */
+  @Override
+  public void close() {
+    if (Clock.get() == clock) {
+      Clock.set(previousClock);
+    }
+  }
+
+  /**
+   * Sets the virtual time each refresh of the UiElement tree takes, to account
+   * for the cost of refreshing on a device. Defaults to 0.
+   */
+  public void setRefreshMillis(long refreshMillis) {
+    this.refreshMillis = refreshMillis;
+  }
+
+  @Override
+  protected SimulatedElement newRootElement() {
+    refreshCount++;
+    clock.sleep(refreshMillis);
+    return newUiElement(rootView, null);
+  }
+
+  @Override
+  protected SimulatedElement newUiElement(SimulatedView rawElement, SimulatedElement parent) {
+    return new SimulatedElement(this, rawElement, parent);
+  }
+
+  // Called by SimulatedInputInjector
+  void onTap(int x, int y, boolean longPress) {
+    tapCount++;
+    for (SimulatedView view = rootView.findViewAt(x, y); view != null; view = view.getParent()) {
+      if (longPress ? view.performLongClick() : view.performClick()) {
+        emit(longPress ? SimulatedEvent.Type.LONG_CLICKED : SimulatedEvent.Type.CLICKED, view);
+        return;
+      }
+    }
+    Logs.logfmt(Log.DEBUG, "Tap at (%d, %d) was not handled", x, y);
+  }
+
+  // Called by SimulatedInputInjector
+  void onSwipe(int x, int y, int dy, float velocity) {
+    swipeCount++;
+    for (SimulatedView view = rootView.findViewAt(x, y); view != null; view = view.getParent()) {
+      if (view instanceof SimulatedList) {
+        ((SimulatedList) view).scrollBy(dy, velocity);
+        emit(SimulatedEvent.Type.SCROLLED, view);
+        return;
+      }
+    }
+    Logs.logfmt(Log.DEBUG, "Swipe at (%d, %d) was not handled", x, y);
+  }
+
+  private void emit(SimulatedEvent.Type type, SimulatedView view) {
+    SimulatedEvent event = new SimulatedEvent(type, view, clock.uptimeMillis());
+    Logs.log(Log.DEBUG, "Emitted " + event);
+    events.add(event);
+  }
+
+  /**
+   * Returns the events emitted so far, in order.
+   */
+  public List<SimulatedEvent> getEvents() {
+    return Collections.unmodifiableList(new ArrayList<SimulatedEvent>(events));
+  }
+
+  public SimulationStats getStats() {
+    return new SimulationStats(refreshCount, swipeCount, tapCount,
+        clock.uptimeMillis() - statsStartMillis);
+  }
+
+  /**
+   * Resets the stats and clears the events.
+   */
+  public void resetStats() {
+    refreshCount = 0;
+    swipeCount = 0;
+    tapCount = 0;
+    statsStartMillis = clock.uptimeMillis();
+    events.clear();
+  }
+
+  @Override
+  public InputInjector getInjector() {
+    return injector;
+  }
+
+  @Override
+  public UiDevice getUiDevice() {
+    return uiDevice;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("rootView", rootView).add("stats", getStats())
+        .toString();
+  }
+}
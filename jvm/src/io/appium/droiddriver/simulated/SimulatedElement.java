@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+
+import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.finders.Attribute;
+
+/**
+ * A UiElement of a {@link SimulatedView}. Like other UiElements, it is a
+ * snapshot taken when the UiElement tree is refreshed, except for
+ * {@link #getCurrentBounds}, which follows the view as it moves.
+ */
+public class SimulatedElement extends BaseUiElement<SimulatedView, SimulatedElement> {
+  private final SimulatedDriver driver;
+  private final SimulatedView view;
+  private final Map<Attribute, Object> attributes;
+  private final boolean visible;
+  private final Rect visibleBounds;
+  private final SimulatedElement parent;
+  private final List<SimulatedElement> children;
+
+  SimulatedElement(SimulatedDriver driver, SimulatedView view, SimulatedElement parent) {
+    this.driver = driver;
+    this.view = view;
+    this.parent = parent;
+
+    Map<Attribute, Object> attributes = new EnumMap<Attribute, Object>(Attribute.class);
+    put(attributes, Attribute.PACKAGE, view.getPackageName());
+    put(attributes, Attribute.CLASS, view.getClassName());
+    put(attributes, Attribute.TEXT, view.getText());
+    put(attributes, Attribute.CONTENT_DESC, view.getContentDescription());
+    put(attributes, Attribute.RESOURCE_ID, view.getResourceId());
+    put(attributes, Attribute.CHECKABLE, view.isCheckable());
+    put(attributes, Attribute.CHECKED, view.isChecked());
+    put(attributes, Attribute.CLICKABLE, view.isClickable());
+    put(attributes, Attribute.ENABLED, view.isEnabled());
+    put(attributes, Attribute.FOCUSABLE, view.isFocusable());
+    put(attributes, Attribute.FOCUSED, false);
+    put(attributes, Attribute.LONG_CLICKABLE, view.isLongClickable());
+    put(attributes, Attribute.PASSWORD, false);
+    put(attributes, Attribute.SCROLLABLE, view.isScrollable());
+    put(attributes, Attribute.SELECTED, view.isSelected());
+    Rect bounds = view.getBoundsOnScreen();
+    put(attributes, Attribute.BOUNDS, bounds);
+    this.attributes = Collections.unmodifiableMap(attributes);
+
+    // Views are clipped by their ancestors
+    visibleBounds = new Rect(bounds);
+    if (parent != null && !visibleBounds.intersect(parent.visibleBounds)) {
+      visibleBounds.setEmpty();
+    }
+    visible = view.isShown() && !visibleBounds.isEmpty();
+
+    List<SimulatedView> childViews = view.getChildren();
+    List<SimulatedElement> children = new ArrayList<SimulatedElement>(childViews.size());
+    for (SimulatedView child : childViews) {
+      children.add(driver.newUiElement(child, this));
+    }
+    this.children = Collections.unmodifiableList(children);
+  }
+
+  private static void put(Map<Attribute, Object> attributes, Attribute key, Object value) {
+    if (value != null) {
+      attributes.put(key, value);
+    }
+  }
+
+  @Override
+  public Rect getVisibleBounds() {
+    return visibleBounds;
+  }
+
+  @Override
+  public Rect getCurrentBounds() {
+    return view.getBoundsOnScreen();
+  }
+
+  @Override
+  public boolean isVisible() {
+    return visible;
+  }
+
+  @Override
+  public SimulatedElement getParent() {
+    return parent;
+  }
+
+  @Override
+  protected List<SimulatedElement> getChildren() {
+    return children;
+  }
+
+  @Override
+  protected Map<Attribute, Object> getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public SimulatedView getRawElement() {
+    return view;
+  }
+
+  // The simulated UI reacts synchronously; nothing to wait for
+  @Override
+  protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis) {
+    futureTask.run();
+  }
+
+  @Override
+  public InputInjector getInjector() {
+    return driver.getInjector();
+  }
+}
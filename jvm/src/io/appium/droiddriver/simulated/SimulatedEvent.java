@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * An event emitted by the simulated UI in response to injected input.
+ */
+public final class SimulatedEvent {
+  public enum Type {
+    /** A tap clicked a view. */
+    CLICKED,
+    /** A long press long-clicked a view. */
+    LONG_CLICKED,
+    /** A swipe scrolled a view. */
+    SCROLLED
+  }
+
+  private final Type type;
+  private final SimulatedView view;
+  private final long uptimeMillis;
+
+  SimulatedEvent(Type type, SimulatedView view, long uptimeMillis) {
+    this.type = type;
+    this.view = view;
+    this.uptimeMillis = uptimeMillis;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public SimulatedView getView() {
+    return view;
+  }
+
+  /**
+   * Returns the virtual time when this event was emitted.
+   */
+  public long getUptimeMillis() {
+    return uptimeMillis;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).addValue(type).add("view", view)
+        .add("uptimeMillis", uptimeMillis).toString();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import android.util.Log;
+import android.view.InputEvent;
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * An {@link InputInjector} that interprets touch gestures on the simulated UI
+ * of a {@link SimulatedDriver}, like the framework would: a gesture that stays
+ * within the touch slop is a tap, or a long press if it is held for the long
+ * press timeout; otherwise it is a swipe, which scrolls the list under it by
+ * the distance moved minus the touch slop, which the framework consumes before
+ * it starts scrolling.
+ * <p>
+ * The velocity of a swipe is computed like VelocityTracker does: from the
+ * ACTION_DOWN and ACTION_MOVE samples of the last
+ * {@link #VELOCITY_WINDOW_MILLIS}, ignoring ACTION_UP, and only since the last
+ * time the pointer was still for more than {@link #POINTER_STOPPED_MILLIS}.
+ * A swipe that holds still at the end with a stationary ACTION_MOVE does not
+ * fling.
+ * </p>
+ * <p>
+ * Only vertical scrolling is simulated. Key events are ignored.
+ * </p>
+ */
+class SimulatedInputInjector implements InputInjector {
+  // The framework defaults on an xxhdpi screen
+  private static final int TOUCH_SLOP_PX = 24;
+  private static final float MIN_FLING_VELOCITY_PX_PER_MS = 0.15F;
+  private static final long VELOCITY_WINDOW_MILLIS = 100L;
+  // VelocityTracker's ASSUME_POINTER_STOPPED_TIME
+  private static final long POINTER_STOPPED_MILLIS = 40L;
+
+  private final SimulatedDriver driver;
+  // Copies of the events of the current gesture
+  private final List<MotionEvent> gesture = new ArrayList<MotionEvent>();
+
+  SimulatedInputInjector(SimulatedDriver driver) {
+    this.driver = driver;
+  }
+
+  @Override
+  public boolean injectInputEvent(InputEvent event) {
+    if (!(event instanceof MotionEvent)) {
+      Logs.log(Log.WARN, "Not simulated: " + event);
+      return true;
+    }
+    MotionEvent motionEvent = (MotionEvent) event;
+    switch (motionEvent.getActionMasked()) {
+      case MotionEvent.ACTION_DOWN:
+        gesture.clear();
+        gesture.add(MotionEvent.obtain(motionEvent));
+        break;
+      case MotionEvent.ACTION_MOVE:
+        if (!gesture.isEmpty()) {
+          gesture.add(MotionEvent.obtain(motionEvent));
+        }
+        break;
+      case MotionEvent.ACTION_UP:
+        if (!gesture.isEmpty()) {
+          gesture.add(MotionEvent.obtain(motionEvent));
+          onGestureEnd();
+        }
+        gesture.clear();
+        break;
+      default:
+        gesture.clear();
+        break;
+    }
+    return true;
+  }
+
+  private void onGestureEnd() {
+    MotionEvent down = gesture.get(0);
+    MotionEvent up = gesture.get(gesture.size() - 1);
+    int x = (int) down.getX();
+    int y = (int) down.getY();
+    int dy = (int) (down.getY() - up.getY());
+    if (Math.abs(up.getX() - down.getX()) <= TOUCH_SLOP_PX && Math.abs(dy) <= TOUCH_SLOP_PX) {
+      boolean longPress =
+          up.getEventTime() - down.getEventTime() >= ViewConfiguration.getLongPressTimeout();
+      driver.onTap(x, y, longPress);
+    } else {
+      int scrolled = Math.max(0, Math.abs(dy) - TOUCH_SLOP_PX);
+      driver.onSwipe(x, y, dy < 0 ? -scrolled : scrolled, getScrollVelocity());
+    }
+  }
+
+  // The velocity of the content, which moves opposite to the finger. The
+  // last event of the gesture is ACTION_UP, which is not a sample.
+  private float getScrollVelocity() {
+    int lastIndex = gesture.size() - 2;
+    if (lastIndex < 1) {
+      return 0;
+    }
+    MotionEvent last = gesture.get(lastIndex);
+    int firstIndex = lastIndex;
+    while (firstIndex > 0) {
+      long previousTime = gesture.get(firstIndex - 1).getEventTime();
+      if (gesture.get(firstIndex).getEventTime() - previousTime > POINTER_STOPPED_MILLIS
+          || last.getEventTime() - previousTime > VELOCITY_WINDOW_MILLIS) {
+        break;
+      }
+      firstIndex--;
+    }
+    MotionEvent first = gesture.get(firstIndex);
+    long dt = last.getEventTime() - first.getEventTime();
+    if (dt <= 0) {
+      return 0;
+    }
+    float velocity = (first.getY() - last.getY()) / dt;
+    return Math.abs(velocity) < MIN_FLING_VELOCITY_PX_PER_MS ? 0 : velocity;
+  }
+}
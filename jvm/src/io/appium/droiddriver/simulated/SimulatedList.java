@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.appium.droiddriver.util.Clock;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A vertically scrollable list of items of the same height, like a ListView or
+ * RecyclerView. Only items that intersect the viewport are children at any
+ * time, so a scroller can only see what is on the screen.
+ * <p>
+ * Scrolls are animated in virtual time: the list follows the finger while it
+ * is down, then flings with constant deceleration if the finger was moving when
+ * it was lifted. Items can be loaded lazily in pages; while there are more
+ * items to load, a ProgressBar follows the loaded items, and the next page
+ * starts loading when it comes into view.
+ * </p>
+ */
+public class SimulatedList extends SimulatedView {
+  /**
+   * Creates the views of list items.
+   */
+  public interface Adapter {
+    /**
+     * Returns a new view for the item at {@code position}. Its frame is set by
+     * the list.
+     */
+    SimulatedView newView(int position);
+  }
+
+  /**
+   * An adapter that creates TextViews whose text is {@code prefix} followed by
+   * the position.
+   */
+  public static Adapter textAdapter(final String prefix) {
+    return new Adapter() {
+      @Override
+      public SimulatedView newView(int position) {
+        return new SimulatedView("android.widget.TextView").setText(prefix + position)
+            .setClickable(true);
+      }
+    };
+  }
+
+  private final int itemCount;
+  private final int itemHeight;
+  private final Adapter adapter;
+  // Views are created once per position, so that UiElements of an item can
+  // watch it move.
+  private final Map<Integer, SimulatedView> itemViews = new HashMap<Integer, SimulatedView>();
+  private final SimulatedView progressBar = new SimulatedView("android.widget.ProgressBar");
+  private float decelerationPxPerMs2 = 0.01F;
+  private int pageSize;
+  private long pageLoadMillis;
+  private int loadedCount;
+  private long loadingSinceMillis = -1;
+
+  // The scroll animation: the offset at startMillis, and the velocity at
+  // startMillis in pixels per millisecond, which decreases to 0 over
+  // durationMillis.
+  private int startScrollY;
+  private float velocity;
+  private long startMillis;
+  private long durationMillis;
+
+  /**
+   * @param itemCount the number of items
+   * @param itemHeight the height of each item in pixels
+   * @param adapter creates the views of items
+   */
+  public SimulatedList(int itemCount, int itemHeight, Adapter adapter) {
+    super("android.widget.ListView");
+    this.itemCount = itemCount;
+    this.itemHeight = itemHeight;
+    this.adapter = adapter;
+    this.loadedCount = itemCount;
+    attach(progressBar);
+  }
+
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  /**
+   * Loads items lazily, {@code pageSize} at a time. The first page is loaded
+   * right away; each following page takes {@code pageLoadMillis} to load after
+   * the ProgressBar after the loaded items comes into view.
+   */
+  public SimulatedList setPaging(int pageSize, long pageLoadMillis) {
+    this.pageSize = pageSize;
+    this.pageLoadMillis = pageLoadMillis;
+    this.loadedCount = Math.min(itemCount, pageSize);
+    return this;
+  }
+
+  /**
+   * Sets the deceleration of flings in pixels per square millisecond. Defaults
+   * to 0.01; the higher, the shorter flings are.
+   */
+  public SimulatedList setDeceleration(float decelerationPxPerMs2) {
+    this.decelerationPxPerMs2 = decelerationPxPerMs2;
+    return this;
+  }
+
+  @Override
+  public boolean isScrollable() {
+    return true;
+  }
+
+  /**
+   * Returns the number of items loaded so far.
+   */
+  public int getLoadedCount() {
+    updatePaging(Clock.get().uptimeMillis());
+    return loadedCount;
+  }
+
+  /**
+   * Returns whether a page is being loaded at the current time.
+   */
+  public boolean isLoading() {
+    long now = Clock.get().uptimeMillis();
+    updatePaging(now);
+    return loadingSinceMillis >= 0 && now >= loadingSinceMillis;
+  }
+
+  /**
+   * Returns whether the scroll animation has ended at the current time.
+   */
+  public boolean isIdle() {
+    return Clock.get().uptimeMillis() >= startMillis + durationMillis;
+  }
+
+  @Override
+  public int getScrollY() {
+    return getScrollY(Clock.get().uptimeMillis());
+  }
+
+  private int getScrollY(long now) {
+    long t = Math.max(0, Math.min(now - startMillis, durationMillis));
+    float deceleration = velocity > 0 ? decelerationPxPerMs2 : -decelerationPxPerMs2;
+    int scrollY = startScrollY + (int) (velocity * t - deceleration * t * t / 2);
+    return Math.max(0, Math.min(scrollY, getMaxScrollY(now)));
+  }
+
+  private int getMaxScrollY(long now) {
+    updatePaging(now);
+    int contentHeight = loadedCount * itemHeight;
+    if (loadedCount < itemCount) {
+      // Room for the ProgressBar
+      contentHeight += itemHeight;
+    }
+    return Math.max(0, contentHeight - getFrame().height());
+  }
+
+  /**
+   * Scrolls the content by {@code dy} pixels right away, as a finger dragging
+   * it does, then flings it if {@code velocity} is not 0. This is called by
+   * {@link SimulatedInputInjector} when a swipe ends.
+   *
+   * @param velocity the velocity of the content in pixels per millisecond
+   *        when the finger is lifted; positive values scroll down
+   */
+  void scrollBy(int dy, float velocity) {
+    long now = Clock.get().uptimeMillis();
+    int maxScrollY = getMaxScrollY(now);
+    startScrollY = Math.max(0, Math.min(getScrollY(now) + dy, maxScrollY));
+    startMillis = now;
+    this.velocity = velocity;
+    float speed = Math.abs(velocity);
+    durationMillis = (long) (speed / decelerationPxPerMs2);
+    // A fling that hits an edge stops there
+    int room = velocity > 0 ? maxScrollY - startScrollY : startScrollY;
+    if (speed * speed / (2 * decelerationPxPerMs2) > room) {
+      durationMillis = (long) Math.ceil(
+          (speed - Math.sqrt(speed * speed - 2 * decelerationPxPerMs2 * room))
+              / decelerationPxPerMs2);
+    }
+    long endMillis = startMillis + durationMillis;
+    if (loadingSinceMillis < 0 && isProgressBarInView(getScrollY(endMillis))) {
+      loadingSinceMillis = endMillis;
+    }
+  }
+
+  private boolean isProgressBarInView(int scrollY) {
+    return loadedCount < itemCount && loadedCount * itemHeight < scrollY + getFrame().height();
+  }
+
+  private void updatePaging(long now) {
+    if (loadingSinceMillis >= 0 && now >= loadingSinceMillis + pageLoadMillis) {
+      loadedCount = Math.min(itemCount, loadedCount + pageSize);
+      loadingSinceMillis = -1;
+    }
+  }
+
+  /**
+   * Returns the items that intersect the viewport at the current time, and the
+   * ProgressBar if it is in view.
+   */
+  @Override
+  public List<SimulatedView> getChildren() {
+    long now = Clock.get().uptimeMillis();
+    int scrollY = getScrollY(now);
+    int height = getFrame().height();
+    int width = getFrame().width();
+    int first = scrollY / itemHeight;
+    int last = Math.min(loadedCount - 1, (scrollY + height - 1) / itemHeight);
+    List<SimulatedView> children = new ArrayList<SimulatedView>(Math.max(0, last - first + 2));
+    for (int position = first; position <= last; position++) {
+      SimulatedView item = itemViews.get(position);
+      if (item == null) {
+        item = adapter.newView(position);
+        attach(item);
+        itemViews.put(position, item);
+      }
+      item.setFrame(0, position * itemHeight, width, (position + 1) * itemHeight);
+      children.add(item);
+    }
+    if (isProgressBarInView(scrollY)) {
+      if (loadingSinceMillis < 0) {
+        // For example, a page was too short to fill the viewport
+        loadingSinceMillis = now;
+      }
+      progressBar.setFrame(0, loadedCount * itemHeight, width, (loadedCount + 1) * itemHeight);
+      children.add(progressBar);
+    }
+    return children;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("itemCount", itemCount)
+        .add("loadedCount", loadedCount).add("scrollY", getScrollY())
+        .add("frame", getFrame().toShortString()).toString();
+  }
+}
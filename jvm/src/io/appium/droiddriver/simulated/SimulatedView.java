@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.appium.droiddriver.util.Clock;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A view of a simulated UI, for {@link SimulatedDriver}. Like an Android View,
+ * it is mutable, and its frame is relative to the content of its parent.
+ * Whether it is shown can depend on the (virtual) time, to simulate views that
+ * appear or disappear with a delay, for example, a dialog shown some time
+ * after a click, or a ProgressBar shown while content loads.
+ * <p>
+ * Setters return this view for chaining.
+ * </p>
+ */
+public class SimulatedView {
+  private final String className;
+  private String packageName;
+  private String text;
+  private String contentDescription;
+  private String resourceId;
+  private boolean clickable;
+  private boolean longClickable;
+  private boolean checkable;
+  private boolean checked;
+  private boolean enabled = true;
+  private boolean focusable;
+  private boolean selected;
+  private final Rect frame = new Rect();
+  private long shownAtMillis = Long.MIN_VALUE;
+  private long goneAtMillis = Long.MAX_VALUE;
+  private Runnable onClick;
+  private Runnable onLongClick;
+  private SimulatedView parent;
+  private final List<SimulatedView> children = new ArrayList<SimulatedView>();
+
+  /**
+   * @param className the class name of the simulated Android view, for
+   *        example, "android.widget.TextView"
+   */
+  public SimulatedView(String className) {
+    this.className = className;
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * Returns the package name of this view, which is inherited from the parent
+   * unless set.
+   */
+  public String getPackageName() {
+    if (packageName != null || parent == null) {
+      return packageName;
+    }
+    return parent.getPackageName();
+  }
+
+  public SimulatedView setPackageName(String packageName) {
+    this.packageName = packageName;
+    return this;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public SimulatedView setText(String text) {
+    this.text = text;
+    return this;
+  }
+
+  public String getContentDescription() {
+    return contentDescription;
+  }
+
+  public SimulatedView setContentDescription(String contentDescription) {
+    this.contentDescription = contentDescription;
+    return this;
+  }
+
+  public String getResourceId() {
+    return resourceId;
+  }
+
+  public SimulatedView setResourceId(String resourceId) {
+    this.resourceId = resourceId;
+    return this;
+  }
+
+  public boolean isClickable() {
+    return clickable;
+  }
+
+  public SimulatedView setClickable(boolean clickable) {
+    this.clickable = clickable;
+    return this;
+  }
+
+  public boolean isLongClickable() {
+    return longClickable;
+  }
+
+  public SimulatedView setLongClickable(boolean longClickable) {
+    this.longClickable = longClickable;
+    return this;
+  }
+
+  public boolean isCheckable() {
+    return checkable;
+  }
+
+  public SimulatedView setCheckable(boolean checkable) {
+    this.checkable = checkable;
+    return this;
+  }
+
+  public boolean isChecked() {
+    return checked;
+  }
+
+  public SimulatedView setChecked(boolean checked) {
+    this.checked = checked;
+    return this;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public SimulatedView setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  public boolean isFocusable() {
+    return focusable;
+  }
+
+  public SimulatedView setFocusable(boolean focusable) {
+    this.focusable = focusable;
+    return this;
+  }
+
+  public boolean isSelected() {
+    return selected;
+  }
+
+  public SimulatedView setSelected(boolean selected) {
+    this.selected = selected;
+    return this;
+  }
+
+  public boolean isScrollable() {
+    return false;
+  }
+
+  /**
+   * Sets the frame of this view, relative to the content of its parent, or to
+   * the screen if this is the root.
+   */
+  public SimulatedView setFrame(int left, int top, int right, int bottom) {
+    frame.set(left, top, right, bottom);
+    return this;
+  }
+
+  public Rect getFrame() {
+    return new Rect(frame);
+  }
+
+  /**
+   * Shows this view {@code delayMillis} from now, and hides it until then.
+   */
+  public SimulatedView showAfter(long delayMillis) {
+    shownAtMillis = Clock.get().uptimeMillis() + delayMillis;
+    goneAtMillis = Long.MAX_VALUE;
+    return this;
+  }
+
+  /**
+   * Hides this view {@code delayMillis} from now.
+   */
+  public SimulatedView hideAfter(long delayMillis) {
+    goneAtMillis = Clock.get().uptimeMillis() + delayMillis;
+    return this;
+  }
+
+  /**
+   * Shows or hides this view now.
+   */
+  public SimulatedView setShown(boolean shown) {
+    return shown ? showAfter(0) : hideAfter(0);
+  }
+
+  /**
+   * Returns whether this view and all its ancestors are shown at the current
+   * time.
+   */
+  public boolean isShown() {
+    long now = Clock.get().uptimeMillis();
+    if (now < shownAtMillis || now >= goneAtMillis) {
+      return false;
+    }
+    return parent == null || parent.isShown();
+  }
+
+  /**
+   * Sets what to run when this view is clicked. Makes this view clickable.
+   */
+  public SimulatedView setOnClick(Runnable onClick) {
+    this.onClick = onClick;
+    this.clickable = true;
+    return this;
+  }
+
+  /**
+   * Sets what to run when this view is long-clicked. Makes this view
+   * long-clickable.
+   */
+  public SimulatedView setOnLongClick(Runnable onLongClick) {
+    this.onLongClick = onLongClick;
+    this.longClickable = true;
+    return this;
+  }
+
+  /**
+   * Clicks this view, toggling it if it is checkable.
+   *
+   * @return whether the click was handled
+   */
+  public boolean performClick() {
+    if (!enabled) {
+      return false;
+    }
+    if (checkable) {
+      checked = !checked;
+    }
+    if (onClick != null) {
+      onClick.run();
+    }
+    return clickable || checkable;
+  }
+
+  /**
+   * Long-clicks this view.
+   *
+   * @return whether the long click was handled
+   */
+  public boolean performLongClick() {
+    if (!enabled) {
+      return false;
+    }
+    if (onLongClick != null) {
+      onLongClick.run();
+    }
+    return longClickable;
+  }
+
+  public SimulatedView getParent() {
+    return parent;
+  }
+
+  public SimulatedView addChild(SimulatedView child) {
+    if (child.parent != null) {
+      throw new IllegalArgumentException("Already has a parent: " + child);
+    }
+    child.parent = this;
+    children.add(child);
+    return this;
+  }
+
+  public SimulatedView removeChild(SimulatedView child) {
+    if (children.remove(child)) {
+      child.parent = null;
+    }
+    return this;
+  }
+
+  // Called by subclasses that create children on demand
+  void attach(SimulatedView child) {
+    child.parent = this;
+  }
+
+  /**
+   * Returns the children of this view at the current time, including hidden
+   * ones.
+   */
+  public List<SimulatedView> getChildren() {
+    return Collections.unmodifiableList(new ArrayList<SimulatedView>(children));
+  }
+
+  /**
+   * Returns the vertical scroll offset of the content of this view at the
+   * current time.
+   */
+  public int getScrollY() {
+    return 0;
+  }
+
+  /**
+   * Returns the bounds of this view on the screen at the current time.
+   */
+  public Rect getBoundsOnScreen() {
+    Rect bounds = new Rect(frame);
+    if (parent != null) {
+      Rect parentBounds = parent.getBoundsOnScreen();
+      bounds.offset(parentBounds.left, parentBounds.top - parent.getScrollY());
+    }
+    return bounds;
+  }
+
+  /**
+   * Returns the deepest view under this one that is shown and contains the
+   * point ({@code x}, {@code y}) on the screen, or null. Later children are
+   * on top of earlier ones.
+   */
+  public SimulatedView findViewAt(int x, int y) {
+    if (!isShown() || !getBoundsOnScreen().contains(x, y)) {
+      return null;
+    }
+    List<SimulatedView> children = getChildren();
+    for (int i = children.size() - 1; i >= 0; i--) {
+      SimulatedView view = children.get(i).findViewAt(x, y);
+      if (view != null) {
+        return view;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).addValue(className).add("text", text)
+        .add("contentDescription", contentDescription).add("resourceId", resourceId)
+        .add("frame", frame.toShortString()).toString();
+  }
+}
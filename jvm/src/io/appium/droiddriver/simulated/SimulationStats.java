@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.simulated;
+
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * What a {@link SimulatedDriver} has done since it was created or its stats
+ * were last reset. Returned by {@link SimulatedDriver#getStats}.
+ */
+public final class SimulationStats {
+  private final int refreshCount;
+  private final int swipeCount;
+  private final int tapCount;
+  private final long elapsedMillis;
+
+  SimulationStats(int refreshCount, int swipeCount, int tapCount, long elapsedMillis) {
+    this.refreshCount = refreshCount;
+    this.swipeCount = swipeCount;
+    this.tapCount = tapCount;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Returns the number of times the UiElement tree was refreshed.
+   */
+  public int getRefreshCount() {
+    return refreshCount;
+  }
+
+  /**
+   * Returns the number of swipes injected, for example, scroll steps.
+   */
+  public int getSwipeCount() {
+    return swipeCount;
+  }
+
+  /**
+   * Returns the number of taps and long presses injected.
+   */
+  public int getTapCount() {
+    return tapCount;
+  }
+
+  /**
+   * Returns the virtual time that has passed.
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("refreshCount", refreshCount)
+        .add("swipeCount", swipeCount).add("tapCount", tapCount)
+        .add("elapsedMillis", elapsedMillis).toString();
+  }
+}
@@ -16,6 +16,7 @@
 
 package io.appium.droiddriver;
 
+import io.appium.droiddriver.actions.ActionBatch;
 import io.appium.droiddriver.exceptions.ElementNotFoundException;
 import io.appium.droiddriver.exceptions.TimeoutException;
 import io.appium.droiddriver.finders.Finder;
@@ -105,6 +106,19 @@ public interface DroidDriver {
    */
   void checkGone(Finder finder);
 
+  /**
+   * Performs the actions in {@code batch} back to back, ignoring their own
+   * timeouts, then waits once for the UI to settle, up to the longest timeout
+   * of the actions. Validators are still checked for each action. If an
+   * action fails, the rest of the batch is not performed, and there is no
+   * wait.
+   *
+   * @param batch the actions and the UiElements to perform them on; the
+   *        UiElements must have been found by this driver
+   * @return whether all actions were successful
+   */
+  boolean perform(ActionBatch batch);
+
   /**
    * Returns the {@link Poller}.
    */
@@ -126,7 +140,10 @@ public interface DroidDriver {
    * {@link #refreshUiElementTree} is called.
    * <p>
    * The dump may contain invisible UiElements that are not used in the finding
-   * algorithm.
+   * algorithm. If {@code path} ends with ".uix", the dump is in
+   * uiautomatorviewer format. If it ends with
+   * {@link io.appium.droiddriver.snapshot.Snapshots#FILE_SUFFIX}, the dump is a
+   * compact binary snapshot.
    * </p>
    *
    * @param path the path of file to save the tree
@@ -153,7 +153,10 @@ public interface UiElement {
    * to close it. <p> If you are using {@link io.appium.droiddriver.instrumentation.InstrumentationDriver},
    * you may use {@link io.appium.droiddriver.actions.view.CloseKeyboardAction} to close it. The
    * advantage of {@code CloseKeyboardAction} is that it is a no-op if the IME is hidden. This is
-   * useful when the state of the IME cannot be determined.
+   * useful when the state of the IME cannot be determined. <p> To set the text directly rather than
+   * type it with a key event per character, set a {@link io.appium.droiddriver.actions.TextSetter}
+   * with {@link io.appium.droiddriver.base.BaseDroidDriver#setDefaultTextSetter}, or on the
+   * element.
    *
    * @param text the text to enter
    */
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.util.Preconditions;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A list of actions to be performed back to back by {@link io.appium.droiddriver.DroidDriver#perform(ActionBatch)},
+ * with a single wait at the end instead of a wait after each action.
+ * <p>
+ * Because there is no wait between actions, the UiElements should be found before the batch is
+ * performed and should not depend on the UI update caused by a previous action in the batch.
+ * For example, filling in a form:
+ * </p>
+ * <pre>
+ * driver.perform(new ActionBatch()
+ *     .add(driver.on(By.resourceId("com.example:id/user")), new TextAction("user"))
+ *     .add(driver.on(By.resourceId("com.example:id/remember")), ClickAction.SINGLE)
+ *     .add(driver.on(By.resourceId("com.example:id/submit")), ClickAction.SINGLE));
+ * </pre>
+ */
+public class ActionBatch {
+  /**
+   * An action and the UiElement to perform it on.
+   */
+  public static final class Entry {
+    private final UiElement element;
+    private final Action action;
+
+    private Entry(UiElement element, Action action) {
+      this.element = Preconditions.checkNotNull(element);
+      this.action = Preconditions.checkNotNull(action);
+    }
+
+    public UiElement getElement() {
+      return element;
+    }
+
+    public Action getAction() {
+      return action;
+    }
+
+    @Override
+    public String toString() {
+      return Strings.toStringHelper(this).addValue(action).add("on", element).toString();
+    }
+  }
+
+  private final List<Entry> entries = new ArrayList<Entry>();
+
+  /**
+   * Adds {@code action} to be performed on {@code element}.
+   *
+   * @return this ActionBatch
+   */
+  public ActionBatch add(UiElement element, Action action) {
+    entries.add(new Entry(element, action));
+    return this;
+  }
+
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(entries);
+  }
+
+  /**
+   * Returns the longest timeout of the actions, which is used for the wait after the batch.
+   */
+  public long getTimeoutMillis() {
+    long timeoutMillis = 0;
+    for (Entry entry : entries) {
+      timeoutMillis = Math.max(timeoutMillis, entry.getAction().getTimeoutMillis());
+    }
+    return timeoutMillis;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).addValue(entries).toString();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions;
+
+import android.view.InputEvent;
+
+/**
+ * An {@link InputInjector} that can also queue events without waiting for them to be dispatched.
+ * This allows injecting a sequence of events, e.g. a gesture or text, with a single synchronous
+ * {@link #injectInputEvent} at the end as a barrier. See {@link io.appium.droiddriver.util.Events#injectEvents}.
+ */
+public interface AsyncInputInjector extends InputInjector {
+
+  /**
+   * Queues the {@code event} for injection and returns without waiting for it to be dispatched.
+   *
+   * @param event The event to inject.
+   * @return true if the event was queued.
+   */
+  boolean injectInputEventAsync(InputEvent event);
+}
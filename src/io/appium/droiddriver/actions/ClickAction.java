@@ -17,23 +17,25 @@
 package io.appium.droiddriver.actions;
 
 import android.graphics.Rect;
-import android.os.SystemClock;
 import android.view.ViewConfiguration;
+import android.view.accessibility.AccessibilityEvent;
 
 import io.appium.droiddriver.UiElement;
-import io.appium.droiddriver.util.Events;
+import io.appium.droiddriver.util.Gestures;
 
 /**
  * An action that does clicks on an UiElement.
  */
-public abstract class ClickAction extends EventAction {
+public abstract class ClickAction extends EventAction implements ExpectsAccessibilityEvents {
 
   public static final ClickAction SINGLE = new SingleClick(1000L);
   public static final ClickAction LONG = new LongClick(1000L);
   public static final ClickAction DOUBLE = new DoubleClick(1000L);
 
-  private static final long CLICK_DURATION_MILLIS = 100L;
-
+  /**
+   * Injects both clicks as a whole, so that they are within the double tap
+   * timeout, and syncs once after the second click.
+   */
   public static class DoubleClick extends ClickAction {
     public DoubleClick(long timeoutMillis) {
       super(timeoutMillis);
@@ -41,8 +43,8 @@ public abstract class ClickAction extends EventAction {
 
     @Override
     public boolean perform(InputInjector injector, UiElement element) {
-      SINGLE.perform(element);
-      SINGLE.perform(element);
+      Rect elementRect = element.getVisibleBounds();
+      Gestures.doubleTap(injector, elementRect.centerX(), elementRect.centerY());
       return true;
     }
   }
@@ -55,12 +57,16 @@ public abstract class ClickAction extends EventAction {
     @Override
     public boolean perform(InputInjector injector, UiElement element) {
       Rect elementRect = element.getVisibleBounds();
-      long downTime = Events.touchDown(injector, elementRect.centerX(), elementRect.centerY());
       // see android.test.TouchUtils - *1.5 to make sure it's long press
-      SystemClock.sleep((long) (ViewConfiguration.getLongPressTimeout() * 1.5));
-      Events.touchUp(injector, downTime, elementRect.centerX(), elementRect.centerY());
+      Gestures.longPress(injector, elementRect.centerX(), elementRect.centerY(),
+          (long) (ViewConfiguration.getLongPressTimeout() * 1.5));
       return true;
     }
+
+    @Override
+    public int getExpectedEventTypes() {
+      return AccessibilityEvent.TYPE_VIEW_LONG_CLICKED;
+    }
   }
 
   public static class SingleClick extends ClickAction {
@@ -71,11 +77,7 @@ public abstract class ClickAction extends EventAction {
     @Override
     public boolean perform(InputInjector injector, UiElement element) {
       Rect elementRect = element.getVisibleBounds();
-      long downTime = Events.touchDown(injector, elementRect.centerX(), elementRect.centerY());
-      // UiAutomator clickAndSync does this, while
-      // android.test.TouchUtils#clickView sleep 1000
-      SystemClock.sleep(CLICK_DURATION_MILLIS);
-      Events.touchUp(injector, downTime, elementRect.centerX(), elementRect.centerY());
+      Gestures.tap(injector, elementRect.centerX(), elementRect.centerY());
       return true;
     }
   }
@@ -84,6 +86,11 @@ public abstract class ClickAction extends EventAction {
     super(timeoutMillis);
   }
 
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_CLICKED;
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName();
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions;
+
+/**
+ * Optional interface for an {@link Action} to declare the {@link
+ * android.view.accessibility.AccessibilityEvent} types it is expected to trigger. Drivers that sync
+ * on AccessibilityEvents after an action, such as {@link io.appium.droiddriver.uiautomation.UiAutomationDriver},
+ * wait for an event of these types from the window of the UiElement the action is performed on,
+ * whose source overlaps the UiElement, instead of any event.
+ */
+public interface ExpectsAccessibilityEvents {
+  /**
+   * Returns a bitmask of the expected event types, for example, {@link
+   * android.view.accessibility.AccessibilityEvent#TYPE_VIEW_CLICKED}, or 0 to accept any event.
+   */
+  int getExpectedEventTypes();
+}
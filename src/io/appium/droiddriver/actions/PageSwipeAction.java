@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions;
+
+import android.graphics.Rect;
+import android.view.accessibility.AccessibilityEvent;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.ActionException;
+import io.appium.droiddriver.scroll.Direction.Axis;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.util.Gestures;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * An action that swipes the finger a given distance through the center of the UiElement and holds
+ * it still before lifting it, so that the content moves with the finger and does not fling.
+ * Unlike {@link SwipeAction}, whose distance is a ratio of the UiElement's size, the distance is in
+ * pixels, so that a calibrated distance can be scrolled. See
+ * {@link io.appium.droiddriver.scroll.PageCalibrator}.
+ * <p>
+ * Note the content moves less than the finger by up to the touch slop, which the framework consumes
+ * before it starts scrolling.
+ * </p>
+ */
+public class PageSwipeAction extends EventAction implements ScrollAction,
+    ExpectsAccessibilityEvents {
+  // Long enough for VelocityTracker to consider the pointer stopped.
+  private static final long HOLD_MILLIS = 150L;
+  private static final int STEPS = 20;
+
+  private final PhysicalDirection direction;
+  private final int distance;
+
+  /**
+   * Defaults timeoutMillis to 1000.
+   */
+  public PageSwipeAction(PhysicalDirection direction, int distance) {
+    this(direction, distance, 1000L);
+  }
+
+  /**
+   * @param direction     specifies where the view port will move, instead of the finger
+   * @param distance      the distance the finger moves in pixels; it is clamped to the visible
+   *                      size of the UiElement
+   * @param timeoutMillis the value returned by {@link #getTimeoutMillis}
+   */
+  public PageSwipeAction(PhysicalDirection direction, int distance, long timeoutMillis) {
+    super(timeoutMillis);
+    this.direction = direction;
+    this.distance = distance;
+  }
+
+  @Override
+  public boolean perform(InputInjector injector, UiElement element) {
+    Rect elementRect = element.getVisibleBounds();
+    boolean vertical = direction.axis() == Axis.VERTICAL;
+    int half = Math.min(distance, (vertical ? elementRect.height() : elementRect.width()) - 2) / 2;
+    int centerX = elementRect.centerX();
+    int centerY = elementRect.centerY();
+    int startX = centerX;
+    int startY = centerY;
+    int endX = centerX;
+    int endY = centerY;
+
+    // The finger moves opposite to the view port.
+    switch (direction) {
+      case DOWN:
+        startY = centerY + half;
+        endY = centerY - half;
+        break;
+      case UP:
+        startY = centerY - half;
+        endY = centerY + half;
+        break;
+      case LEFT:
+        startX = centerX - half;
+        endX = centerX + half;
+        break;
+      case RIGHT:
+        startX = centerX + half;
+        endX = centerX - half;
+        break;
+      default:
+        throw new ActionException("Unknown scroll direction: " + direction);
+    }
+
+    Gestures.swipe(injector, startX, startY, endX, endY, STEPS,
+        SwipeAction.getMoveIntervalMillis(), HOLD_MILLIS);
+    return true;
+  }
+
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_SCROLLED;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).addValue(direction).add("distance", distance).toString();
+  }
+}
@@ -17,24 +17,31 @@
 package io.appium.droiddriver.actions;
 
 import android.graphics.Rect;
-import android.os.SystemClock;
 import android.view.ViewConfiguration;
+import android.view.accessibility.AccessibilityEvent;
 
 import io.appium.droiddriver.UiElement;
 import io.appium.droiddriver.exceptions.ActionException;
 import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.util.Clock;
 import io.appium.droiddriver.util.Events;
+import io.appium.droiddriver.util.Gestures;
 import io.appium.droiddriver.util.Strings;
 import io.appium.droiddriver.util.Strings.ToStringHelper;
 
 /**
  * An action that swipes the touch screen.
  */
-public class SwipeAction extends EventAction implements ScrollAction {
-  // Milliseconds between synthesized ACTION_MOVE events.
+public class SwipeAction extends EventAction implements ScrollAction, ExpectsAccessibilityEvents {
+  // Milliseconds between synthesized ACTION_MOVE events of a drag.
   // Note: ACTION_MOVE_INTERVAL is the minimum interval between injected events;
   // the actual interval typically is longer.
   private static final int ACTION_MOVE_INTERVAL = 5;
+  /**
+   * Milliseconds between the event times of synthesized events. Swipes that are
+   * not drags are injected without sleeping; see {@link Gestures}.
+   */
+  private static long moveIntervalMillis = ACTION_MOVE_INTERVAL;
   /**
    * The magic number from UiAutomator. This value is empirical. If it actually
    * results in a fling, you can change it with {@link #setScrollSteps}.
@@ -62,6 +69,20 @@ public class SwipeAction extends EventAction implements ScrollAction {
     SwipeAction.flingSteps = flingSteps;
   }
 
+  /** Returns the {@link #moveIntervalMillis} used in swipes that are not drags. */
+  public static long getMoveIntervalMillis() {
+    return moveIntervalMillis;
+  }
+
+  /**
+   * Sets the {@link #moveIntervalMillis} used in swipes that are not drags.
+   * Together with steps, this determines the speed of the swipe seen by the
+   * framework.
+   */
+  public static void setMoveIntervalMillis(long moveIntervalMillis) {
+    SwipeAction.moveIntervalMillis = moveIntervalMillis;
+  }
+
   /**
    * Gets {@link SwipeAction} instances for scrolling.
    * <p>
@@ -186,27 +207,41 @@ public class SwipeAction extends EventAction implements ScrollAction {
         throw new ActionException("Unknown scroll direction: " + direction);
     }
 
+    if (!drag) {
+      Gestures.swipe(injector, startX, startY, endX, endY, steps, moveIntervalMillis);
+      return true;
+    }
+
+    // A drag depends on the long press timeout, which the framework measures
+    // in real time, so it is injected in real time.
     double xStep = ((double) (endX - startX)) / steps;
     double yStep = ((double) (endY - startY)) / steps;
 
     // First touch starts exactly at the point requested
     long downTime = Events.touchDown(injector, startX, startY);
-    SystemClock.sleep(ACTION_MOVE_INTERVAL);
-    if (drag) {
-      SystemClock.sleep((long) (ViewConfiguration.getLongPressTimeout() * 1.5f));
-    }
+    Clock.get().sleep(ACTION_MOVE_INTERVAL);
+    Clock.get().sleep((long) (ViewConfiguration.getLongPressTimeout() * 1.5f));
     for (int i = 1; i < steps; i++) {
       Events.touchMove(injector, downTime, startX + (int) (xStep * i), startY + (int) (yStep * i));
-      SystemClock.sleep(ACTION_MOVE_INTERVAL);
-    }
-    if (drag) {
-      // Hold final position for a little bit to simulate drag.
-      SystemClock.sleep(100);
+      Clock.get().sleep(ACTION_MOVE_INTERVAL);
     }
+    // Hold final position for a little bit to simulate drag.
+    Clock.get().sleep(100);
     Events.touchUp(injector, downTime, endX, endY);
     return true;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A drag may or may not scroll, so any event is accepted.
+   * </p>
+   */
+  @Override
+  public int getExpectedEventTypes() {
+    return drag ? 0 : AccessibilityEvent.TYPE_VIEW_SCROLLED;
+  }
+
   @Override
   public String toString() {
     ToStringHelper toStringHelper = Strings.toStringHelper(this);
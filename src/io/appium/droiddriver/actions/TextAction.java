@@ -18,19 +18,24 @@ package io.appium.droiddriver.actions;
 
 import android.annotation.SuppressLint;
 import android.os.Build;
-import android.os.SystemClock;
 import android.view.KeyCharacterMap;
 import android.view.KeyEvent;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import io.appium.droiddriver.UiElement;
 import io.appium.droiddriver.exceptions.ActionException;
+import io.appium.droiddriver.util.Clock;
+import io.appium.droiddriver.util.Events;
 import io.appium.droiddriver.util.Preconditions;
 import io.appium.droiddriver.util.Strings;
 
 /**
  * An action to type text.
  */
-public class TextAction extends KeyAction {
+public class TextAction extends KeyAction implements ExpectsAccessibilityEvents {
 
   @SuppressLint("InlinedApi")
   @SuppressWarnings("deprecation")
@@ -53,31 +58,39 @@ public class TextAction extends KeyAction {
     this.text = Preconditions.checkNotNull(text);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The key events are injected as a whole with {@link Events#injectEvents},
+   * so an {@link AsyncInputInjector} only waits for the last one.
+   * </p>
+   */
   @Override
   public boolean perform(InputInjector injector, UiElement element) {
     maybeCheckFocused(element);
 
     // TODO: recycle events?
     KeyEvent[] events = KEY_CHAR_MAP.getEvents(text.toCharArray());
-    boolean success = false;
-
-    if (events != null) {
-      for (KeyEvent event : events) {
-        // We have to change the time of an event before injecting it because
-        // all KeyEvents returned by KeyCharacterMap.getEvents() have the same
-        // time stamp and the system rejects too old events. Hence, it is
-        // possible for an event to become stale before it is injected if it
-        // takes too long to inject the preceding ones.
-        KeyEvent modifiedEvent = KeyEvent.changeTimeRepeat(event, SystemClock.uptimeMillis(), 0);
-        success = injector.injectInputEvent(modifiedEvent);
-        if (!success) {
-          break;
-        }
-      }
-    } else {
+    if (events == null) {
       throw new ActionException("The given text is not supported: " + text);
     }
-    return success;
+
+    // We have to change the time of the events before injecting them because
+    // all KeyEvents returned by KeyCharacterMap.getEvents() have the same
+    // time stamp and the system rejects too old events. They are injected
+    // back to back, so it is fine to give them all the current time.
+    long eventTime = Clock.get().uptimeMillis();
+    List<KeyEvent> modifiedEvents = new ArrayList<KeyEvent>(events.length);
+    for (KeyEvent event : events) {
+      modifiedEvents.add(KeyEvent.changeTimeRepeat(event, eventTime, 0));
+    }
+    Events.injectEvents(injector, modifiedEvents);
+    return true;
+  }
+
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED;
   }
 
   @Override
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions;
+
+import io.appium.droiddriver.UiElement;
+
+/**
+ * Interface for setting the text of a {@link UiElement} without injecting a key event per
+ * character. It is chosen per driver via
+ * {@link io.appium.droiddriver.base.BaseDroidDriver#setDefaultTextSetter}, or per element via
+ * {@link io.appium.droiddriver.base.BaseUiElement#setTextSetter}.
+ */
+public interface TextSetter {
+  /**
+   * Replaces the text of {@code uiElement} with {@code text}.
+   *
+   * @return false if this TextSetter cannot be used on {@code uiElement}, for example, it is not
+   * editable; the caller then falls back to injecting key events
+   */
+  boolean setText(UiElement uiElement, String text);
+}
@@ -17,16 +17,19 @@
 package io.appium.droiddriver.actions.accessibility;
 
 import android.annotation.TargetApi;
+import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 
 import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.ExpectsAccessibilityEvents;
 import io.appium.droiddriver.exceptions.ActionException;
 
 /**
  * An {@link AccessibilityAction} that clicks on a UiElement.
  */
 @TargetApi(18)
-public abstract class AccessibilityClickAction extends AccessibilityAction {
+public abstract class AccessibilityClickAction extends AccessibilityAction
+    implements ExpectsAccessibilityEvents {
 
   public static final AccessibilityClickAction SINGLE = new SingleClick(1000L);
   public static final AccessibilityClickAction LONG = new LongClick(1000L);
@@ -60,6 +63,11 @@ public abstract class AccessibilityClickAction extends AccessibilityAction {
       }
       return node.performAction(AccessibilityNodeInfo.ACTION_LONG_CLICK);
     }
+
+    @Override
+    public int getExpectedEventTypes() {
+      return AccessibilityEvent.TYPE_VIEW_LONG_CLICKED;
+    }
   }
 
   public static class SingleClick extends AccessibilityClickAction {
@@ -77,6 +85,11 @@ public abstract class AccessibilityClickAction extends AccessibilityAction {
     }
   }
 
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_CLICKED;
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName();
@@ -17,9 +17,11 @@
 package io.appium.droiddriver.actions.accessibility;
 
 import android.annotation.TargetApi;
+import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 
 import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.ExpectsAccessibilityEvents;
 import io.appium.droiddriver.actions.ScrollAction;
 import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
 import io.appium.droiddriver.util.Strings;
@@ -28,7 +30,8 @@ import io.appium.droiddriver.util.Strings;
  * An {@link AccessibilityAction} that scrolls an UiElement.
  */
 @TargetApi(18)
-public class AccessibilityScrollAction extends AccessibilityAction implements ScrollAction {
+public class AccessibilityScrollAction extends AccessibilityAction
+    implements ScrollAction, ExpectsAccessibilityEvents {
   private final PhysicalDirection direction;
 
   public AccessibilityScrollAction(PhysicalDirection direction) {
@@ -57,6 +60,11 @@ public class AccessibilityScrollAction extends AccessibilityAction implements Sc
     return false;
   }
 
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_SCROLLED;
+  }
+
   @Override
   public String toString() {
     return Strings.toStringHelper(this).addValue(direction).toString();
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions.accessibility;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.ExpectsAccessibilityEvents;
+import io.appium.droiddriver.util.Preconditions;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * An {@link AccessibilityAction} that replaces the text of a UiElement via {@link
+ * AccessibilityNodeInfo#ACTION_SET_TEXT}. This requires API 21.
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+public class AccessibilitySetTextAction extends AccessibilityAction
+    implements ExpectsAccessibilityEvents {
+  private final String text;
+
+  /**
+   * Defaults timeoutMillis to 1000.
+   */
+  public AccessibilitySetTextAction(String text) {
+    this(text, 1000L);
+  }
+
+  public AccessibilitySetTextAction(String text, long timeoutMillis) {
+    super(timeoutMillis);
+    this.text = Preconditions.checkNotNull(text);
+  }
+
+  @Override
+  protected boolean perform(AccessibilityNodeInfo node, UiElement element) {
+    Bundle arguments = new Bundle();
+    arguments.putCharSequence(AccessibilityNodeInfo.ACTION_ARGUMENT_SET_TEXT_CHARSEQUENCE, text);
+    return node.performAction(AccessibilityNodeInfo.ACTION_SET_TEXT, arguments);
+  }
+
+  @Override
+  public int getExpectedEventTypes() {
+    return AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).addValue(text).toString();
+  }
+}
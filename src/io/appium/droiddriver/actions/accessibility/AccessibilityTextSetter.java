@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions.accessibility;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.TextSetter;
+import io.appium.droiddriver.uiautomation.UiAutomationElement;
+
+/**
+ * A {@link TextSetter} that uses {@link AccessibilitySetTextAction}. It is not applicable below API
+ * 21, or if the element is not an editable {@link UiAutomationElement}. The app sees the same
+ * change as {@code TextView.setText}, so TextWatchers are notified, but the IME is not involved.
+ */
+public class AccessibilityTextSetter implements TextSetter {
+  public static final AccessibilityTextSetter INSTANCE = new AccessibilityTextSetter();
+
+  @TargetApi(18)
+  @Override
+  public boolean setText(UiElement uiElement, String text) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP
+        || !(uiElement instanceof UiAutomationElement)
+        || !((UiAutomationElement) uiElement).getRawElement().isEditable()) {
+      return false;
+    }
+    return uiElement.perform(new AccessibilitySetTextAction(text));
+  }
+}
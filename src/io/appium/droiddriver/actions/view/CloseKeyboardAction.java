@@ -19,11 +19,11 @@ package io.appium.droiddriver.actions.view;
 import android.content.Context;
 import android.os.Bundle;
 import android.os.ResultReceiver;
-import android.os.SystemClock;
 import android.util.Log;
 import android.view.View;
 import android.view.inputmethod.InputMethodManager;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import io.appium.droiddriver.UiElement;
 import io.appium.droiddriver.exceptions.ActionException;
 import io.appium.droiddriver.exceptions.DroidDriverException;
+import io.appium.droiddriver.util.Clock;
 import io.appium.droiddriver.util.InstrumentationUtils;
 import io.appium.droiddriver.util.Logs;
 
@@ -54,13 +55,13 @@ public class CloseKeyboardAction extends ViewAction {
     this.keyboardDismissalDelayMillis = keyboardDismissalDelayMillis;
   }
 
-  protected boolean perform(View view, UiElement element) {
-    InputMethodManager imm = (InputMethodManager) InstrumentationUtils.getTargetContext()
+  protected boolean perform(final View view, UiElement element) {
+    final InputMethodManager imm = (InputMethodManager) InstrumentationUtils.getTargetContext()
         .getSystemService(Context.INPUT_METHOD_SERVICE);
     final AtomicInteger resultCodeHolder = new AtomicInteger();
     final CountDownLatch latch = new CountDownLatch(1);
 
-    ResultReceiver resultReceiver = new ResultReceiver(null) {
+    final ResultReceiver resultReceiver = new ResultReceiver(null) {
       @Override
       protected void onReceiveResult(int resultCode, Bundle resultData) {
         resultCodeHolder.set(resultCode);
@@ -68,7 +69,15 @@ public class CloseKeyboardAction extends ViewAction {
       }
     };
 
-    if (!imm.hideSoftInputFromWindow(view.getWindowToken(), 0, resultReceiver)) {
+    // The View is only accessed on the main thread. The result is delivered to resultReceiver on a
+    // binder thread, so the latch is awaited on the current thread.
+    boolean hiding = InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return imm.hideSoftInputFromWindow(view.getWindowToken(), 0, resultReceiver);
+      }
+    });
+    if (!hiding) {
       Logs.log(Log.INFO, "InputMethodManager.hideSoftInputFromWindow returned false");
       // Soft keyboard is not shown if hideSoftInputFromWindow returned false
       return true;
@@ -91,7 +100,7 @@ public class CloseKeyboardAction extends ViewAction {
     }
 
     // Wait for the soft keyboard to finish closing
-    SystemClock.sleep(keyboardDismissalDelayMillis);
+    Clock.get().sleep(keyboardDismissalDelayMillis);
     return true;
   }
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions.view;
+
+import android.text.Selection;
+import android.text.Spannable;
+import android.util.Log;
+import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.view.inputmethod.InputConnection;
+import android.widget.TextView;
+
+import java.util.concurrent.Callable;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.util.InstrumentationUtils;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Preconditions;
+import io.appium.droiddriver.util.Strings;
+import io.appium.droiddriver.util.Strings.ToStringHelper;
+
+/**
+ * Replaces the text of an editable {@link TextView} directly on the main thread, in one call
+ * instead of a key event per character.
+ * <p>
+ * If {@code viaInputConnection} is true, the text is committed through the {@link InputConnection}
+ * the TextView creates for an IME. This is what a soft keyboard does: InputFilters apply, and
+ * TextWatchers and custom InputConnections of the app see the edit as typed input. Otherwise, the
+ * text is set with {@link TextView#setText}.
+ * </p>
+ * {@link #perform} returns false if the View is not an editable TextView, or if {@code
+ * viaInputConnection} is true and the TextView has no InputConnection; it does not fall back to
+ * {@link TextView#setText}, which would bypass what the IME path is asked for.
+ */
+public class SetTextAction extends ViewAction {
+  private final String text;
+  private final boolean viaInputConnection;
+
+  /**
+   * Defaults timeoutMillis to 1000.
+   */
+  public SetTextAction(String text, boolean viaInputConnection) {
+    this(text, viaInputConnection, 1000L);
+  }
+
+  public SetTextAction(String text, boolean viaInputConnection, long timeoutMillis) {
+    super(timeoutMillis);
+    this.text = Preconditions.checkNotNull(text);
+    this.viaInputConnection = viaInputConnection;
+  }
+
+  @Override
+  protected boolean perform(final View view, UiElement element) {
+    return InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        if (!(view instanceof TextView) || !view.onCheckIsTextEditor() || !view.isEnabled()) {
+          return false;
+        }
+        TextView textView = (TextView) view;
+        textView.requestFocus();
+        if (!viaInputConnection) {
+          textView.setText(text);
+          return true;
+        }
+        if (commitText(textView)) {
+          return true;
+        }
+        Logs.log(Log.INFO, "No InputConnection; cannot commit text to " + textView);
+        return false;
+      }
+    });
+  }
+
+  private boolean commitText(TextView textView) {
+    InputConnection inputConnection = textView.onCreateInputConnection(new EditorInfo());
+    if (inputConnection == null) {
+      return false;
+    }
+    inputConnection.beginBatchEdit();
+    try {
+      inputConnection.finishComposingText();
+      // Select all so that the committed text replaces it.
+      if (textView.getText() instanceof Spannable) {
+        Selection.setSelection((Spannable) textView.getText(), 0, textView.length());
+      }
+      inputConnection.commitText(text, 1 /* newCursorPosition: after the text */);
+    } finally {
+      inputConnection.endBatchEdit();
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    ToStringHelper toStringHelper = Strings.toStringHelper(this);
+    toStringHelper.addValue(text);
+    if (viaInputConnection) {
+      toStringHelper.addValue("viaInputConnection");
+    }
+    return toStringHelper.toString();
+  }
+}
@@ -37,7 +37,9 @@ public abstract class ViewAction extends BaseAction {
   }
 
   /**
-   * Performs the action on the associated {@link View}.
+   * Performs the action on the associated {@link View}. This is called on the test thread; access
+   * to the View should be done on the main thread via {@link io.appium.droiddriver.util.InstrumentationUtils#runOnMainSyncWithTimeout},
+   * or {@link io.appium.droiddriver.util.MainSyncBatch} if multiple calls are needed.
    *
    * @param view    the View associated with the UiElement
    * @param element the UiElement to perform the action on
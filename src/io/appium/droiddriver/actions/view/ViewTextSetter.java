@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.actions.view;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.TextSetter;
+
+/**
+ * A {@link TextSetter} that uses {@link SetTextAction}. It is not applicable if the View is not an
+ * editable TextView.
+ */
+public class ViewTextSetter implements TextSetter {
+  /**
+   * Commits text through the InputConnection, the way an IME does. Use this if the app depends on
+   * listeners that observe typed input. It is not applicable if the TextView has no
+   * InputConnection.
+   */
+  public static final ViewTextSetter INPUT_CONNECTION = new ViewTextSetter(true);
+  /**
+   * Calls {@code TextView.setText}. TextWatchers see one change replacing the whole text.
+   */
+  public static final ViewTextSetter DIRECT = new ViewTextSetter(false);
+
+  private final boolean viaInputConnection;
+
+  protected ViewTextSetter(boolean viaInputConnection) {
+    this.viaInputConnection = viaInputConnection;
+  }
+
+  @Override
+  public boolean setText(UiElement uiElement, String text) {
+    return uiElement.perform(new SetTextAction(text, viaInputConnection));
+  }
+}
@@ -21,11 +21,14 @@ import android.util.Log;
 import io.appium.droiddriver.DroidDriver;
 import io.appium.droiddriver.Poller;
 import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.ActionBatch;
 import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.actions.TextSetter;
 import io.appium.droiddriver.exceptions.ElementNotFoundException;
 import io.appium.droiddriver.exceptions.TimeoutException;
 import io.appium.droiddriver.finders.ByXPath;
 import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.snapshot.Snapshots;
 import io.appium.droiddriver.util.Logs;
 
 /**
@@ -34,6 +37,7 @@ import io.appium.droiddriver.util.Logs;
 public abstract class BaseDroidDriver<R, E extends BaseUiElement<R, E>> implements DroidDriver {
 
   private Poller poller = new DefaultPoller();
+  private TextSetter defaultTextSetter = null;
   private E rootElement;
 
   @Override
@@ -81,6 +85,12 @@ public abstract class BaseDroidDriver<R, E extends BaseUiElement<R, E>> implemen
     getPoller().pollFor(this, finder, Poller.GONE);
   }
 
+  @Override
+  public boolean perform(ActionBatch batch) {
+    Logs.call(this, "perform", batch);
+    return BaseUiElement.perform(this, batch);
+  }
+
   @Override
   public Poller getPoller() {
     return poller;
@@ -93,6 +103,20 @@ public abstract class BaseDroidDriver<R, E extends BaseUiElement<R, E>> implemen
 
   public abstract InputInjector getInjector();
 
+  /**
+   * Sets the {@link TextSetter} that UiElements created after this call start with. Since the
+   * UiElement tree is rebuilt by {@link #refreshUiElementTree}, this is how to make
+   * {@link UiElement#setText} set text directly on all elements; a UiElement may still override it
+   * with {@link BaseUiElement#setTextSetter}. Null (the default) types text with key events.
+   */
+  public void setDefaultTextSetter(TextSetter defaultTextSetter) {
+    this.defaultTextSetter = defaultTextSetter;
+  }
+
+  public TextSetter getDefaultTextSetter() {
+    return defaultTextSetter;
+  }
+
   protected abstract E newRootElement();
 
   /**
@@ -115,6 +139,9 @@ public abstract class BaseDroidDriver<R, E extends BaseUiElement<R, E>> implemen
   @Override
   public boolean dumpUiElementTree(String path) {
     Logs.call(this, "dumpUiElementTree", path);
+    if (path.endsWith(Snapshots.FILE_SUFFIX)) {
+      return Snapshots.dump(path, getRootElement());
+    }
     return ByXPath.dumpDom(path, getRootElement());
   }
 }
@@ -19,6 +19,7 @@ package io.appium.droiddriver.base;
 import android.graphics.Rect;
 import android.os.Build;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.KeyEvent;
 
 import java.util.ArrayList;
@@ -30,16 +31,19 @@ import java.util.concurrent.FutureTask;
 
 import io.appium.droiddriver.UiElement;
 import io.appium.droiddriver.actions.Action;
+import io.appium.droiddriver.actions.ActionBatch;
 import io.appium.droiddriver.actions.EventUiElementActor;
 import io.appium.droiddriver.actions.InputInjector;
 import io.appium.droiddriver.actions.SingleKeyAction;
 import io.appium.droiddriver.actions.TextAction;
+import io.appium.droiddriver.actions.TextSetter;
 import io.appium.droiddriver.actions.UiElementActor;
 import io.appium.droiddriver.exceptions.DroidDriverException;
 import io.appium.droiddriver.finders.Attribute;
 import io.appium.droiddriver.finders.Predicate;
 import io.appium.droiddriver.finders.Predicates;
 import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.util.ActionStats;
 import io.appium.droiddriver.util.Events;
 import io.appium.droiddriver.util.Logs;
 import io.appium.droiddriver.util.Strings;
@@ -61,6 +65,7 @@ public abstract class BaseUiElement<R, E extends BaseUiElement<R, E>> implements
 
   private UiElementActor uiElementActor = EventUiElementActor.INSTANCE;
   private Validator validator = null;
+  private TextSetter textSetter = null;
 
   @SuppressWarnings("unchecked")
   @Override
@@ -148,6 +153,17 @@ public abstract class BaseUiElement<R, E extends BaseUiElement<R, E>> implements
     return get(Attribute.BOUNDS);
   }
 
+  /**
+   * Returns the bounds of the underlying element as of now, instead of when
+   * this UiElement was created. This is cheaper than refreshing the whole
+   * UiElement tree, and is useful for watching an element move, for example,
+   * while a scroll settles. Defaults to {@link #getBounds} for UiElements that
+   * are snapshots.
+   */
+  public Rect getCurrentBounds() {
+    return getBounds();
+  }
+
   // TODO: expose these 3 methods in UiElement?
   public int getSelectionStart() {
     Integer value = get(Attribute.SELECTION_START);
@@ -169,34 +185,145 @@ public abstract class BaseUiElement<R, E extends BaseUiElement<R, E>> implements
   @Override
   public boolean perform(Action action) {
     Logs.call(this, "perform", action);
+    ActionStats.Recording recording = ActionStats.begin(action);
+    try {
+      validate(action);
+      if (recording != null) {
+        recording.endValidate();
+      }
+
+      // timeoutMillis <= 0 means no need to wait
+      if (action.getTimeoutMillis() <= 0) {
+        return doPerform(action, recording);
+      }
+      return performAndWait(action, recording);
+    } finally {
+      if (recording != null) {
+        recording.end();
+      }
+    }
+  }
+
+  private void validate(Action action) {
     if (validator != null && validator.isApplicable(this, action)) {
       String failure = validator.validate(this, action);
       if (failure != null) {
         throw new DroidDriverException(toString() + " failed validation: " + failure);
       }
     }
+  }
 
-    // timeoutMillis <= 0 means no need to wait
-    if (action.getTimeoutMillis() <= 0) {
-      return doPerform(action);
+  /**
+   * Performs the actions in {@code batch} without waiting in between, and
+   * the last one via {@link #doPerformAndWait} of its UiElement. Stops at the
+   * first action that fails, without waiting. All UiElements must belong to {@code driver},
+   * that is, inject input through its {@link InputInjector}.
+   */
+  static boolean perform(BaseDroidDriver<?, ?> driver, ActionBatch batch) {
+    final List<ActionBatch.Entry> entries = batch.getEntries();
+    if (entries.isEmpty()) {
+      return true;
+    }
+    InputInjector injector = driver.getInjector();
+    for (ActionBatch.Entry entry : entries) {
+      if (!(entry.getElement() instanceof BaseUiElement)
+          || ((BaseUiElement<?, ?>) entry.getElement()).getInjector() != injector) {
+        throw new DroidDriverException(entry.getElement() + " does not belong to " + driver);
+      }
+    }
+
+    final ActionStats.Recording recording = ActionStats.begin(batch);
+    try {
+      return perform(entries, batch.getTimeoutMillis(), recording);
+    } finally {
+      if (recording != null) {
+        recording.end();
+      }
+    }
+  }
+
+  private static boolean perform(List<ActionBatch.Entry> entries, long timeoutMillis,
+      final ActionStats.Recording recording) {
+    int lastIndex = entries.size() - 1;
+    for (ActionBatch.Entry entry : entries.subList(0, lastIndex)) {
+      // No wait if the batch stops early; nothing waits for the skipped actions.
+      if (!perform(entry, recording)) {
+        return false;
+      }
+    }
+
+    final ActionBatch.Entry lastEntry = entries.get(lastIndex);
+    FutureTask<Boolean> futureTask = new FutureTask<Boolean>(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return perform(lastEntry, recording);
+      }
+    });
+    if (timeoutMillis <= 0) {
+      futureTask.run();
+    } else {
+      BaseUiElement<?, ?> last = (BaseUiElement<?, ?>) lastEntry.getElement();
+      last.doPerformAndWait(futureTask, timeoutMillis, lastEntry.getAction());
+    }
+
+    try {
+      return futureTask.get();
+    } catch (Throwable t) {
+      throw DroidDriverException.propagate(t);
     }
-    return performAndWait(action);
+  }
+
+  private static boolean perform(ActionBatch.Entry entry, ActionStats.Recording recording) {
+    BaseUiElement<?, ?> element = (BaseUiElement<?, ?>) entry.getElement();
+    Logs.call(element, "perform", entry.getAction());
+    element.validate(entry.getAction());
+    if (!element.doPerform(entry.getAction(), recording)) {
+      Logs.log(Log.WARN, "Failed to perform " + entry + "; stopping the batch");
+      return false;
+    }
+    return true;
   }
 
   protected boolean doPerform(Action action) {
     return action.perform(this);
   }
 
+  private boolean doPerform(Action action, ActionStats.Recording recording) {
+    if (recording == null) {
+      return doPerform(action);
+    }
+    long startNanos = System.nanoTime();
+    try {
+      return doPerform(action);
+    } finally {
+      recording.addInject(System.nanoTime() - startNanos);
+    }
+  }
+
   protected abstract void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis);
 
-  private boolean performAndWait(final Action action) {
+  /**
+   * Runs {@code futureTask} and waits for the result of {@code action} up to
+   * {@code timeoutMillis}. Subclasses can override this to wait for what the
+   * action is expected to trigger. Defaults to
+   * {@link #doPerformAndWait(FutureTask, long)}.
+   *
+   * @param action the action that {@code futureTask} performs; for a batch,
+   *        the last action
+   */
+  protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis,
+      Action action) {
+    doPerformAndWait(futureTask, timeoutMillis);
+  }
+
+  private boolean performAndWait(final Action action, final ActionStats.Recording recording) {
     FutureTask<Boolean> futureTask = new FutureTask<Boolean>(new Callable<Boolean>() {
       @Override
       public Boolean call() {
-        return doPerform(action);
+        return doPerform(action, recording);
       }
     });
-    doPerformAndWait(futureTask, action.getTimeoutMillis());
+    doPerformAndWait(futureTask, action.getTimeoutMillis(), action);
 
     try {
       return futureTask.get();
@@ -205,9 +332,20 @@ public abstract class BaseUiElement<R, E extends BaseUiElement<R, E>> implements
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If a {@link TextSetter} is set and is applicable to this element, it is
+   * used. Otherwise the text is typed with key events.
+   * </p>
+   */
   @Override
   public void setText(String text) {
     Logs.call(this, "setText", text);
+    if (textSetter != null && textSetter.setText(this, text == null ? "" : text)) {
+      return;
+    }
+
     longClick(); // Gain focus; single click always activates IME.
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
       clearText();
@@ -318,6 +456,16 @@ public abstract class BaseUiElement<R, E extends BaseUiElement<R, E>> implements
     this.uiElementActor = uiElementActor;
   }
 
+  /**
+   * Sets the {@link TextSetter} used by {@link #setText}, overriding
+   * {@link BaseDroidDriver#setDefaultTextSetter}. If it is null (the default)
+   * or not applicable, {@link #setText} types the text with key events, which
+   * brings up the IME.
+   */
+  public void setTextSetter(TextSetter textSetter) {
+    this.textSetter = textSetter;
+  }
+
   /**
    * Sets the validator to check when {@link #perform(Action)} is called.
    */
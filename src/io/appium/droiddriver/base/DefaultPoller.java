@@ -16,8 +16,6 @@
 
 package io.appium.droiddriver.base;
 
-import android.os.SystemClock;
-
 import java.util.Collection;
 import java.util.LinkedList;
 
@@ -26,6 +24,7 @@ import io.appium.droiddriver.Poller;
 import io.appium.droiddriver.exceptions.NoRunningActivityException;
 import io.appium.droiddriver.exceptions.TimeoutException;
 import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.util.Clock;
 
 /**
  * Default implementation of a {@link Poller}.
@@ -64,7 +63,7 @@ public class DefaultPoller implements Poller {
   @Override
   public <T> T pollFor(DroidDriver driver, Finder finder, ConditionChecker<T> checker,
       long timeoutMillis) {
-    long end = SystemClock.uptimeMillis() + timeoutMillis;
+    long end = Clock.get().uptimeMillis() + timeoutMillis;
     while (true) {
       try {
         try {
@@ -84,15 +83,15 @@ public class DefaultPoller implements Poller {
         pollingListener.onPolling(driver, finder);
       }
 
-      long remainingMillis = end - SystemClock.uptimeMillis();
-      if (remainingMillis < 0) {
+      long remainingMillis = end - Clock.get().uptimeMillis();
+      if (remainingMillis <= 0) {
         for (TimeoutListener timeoutListener : timeoutListeners) {
           timeoutListener.onTimeout(driver, finder);
         }
         throw new TimeoutException(String.format(
             "Timed out after %d milliseconds waiting for %s %s", timeoutMillis, finder, checker));
       }
-      SystemClock.sleep(Math.min(intervalMillis, remainingMillis));
+      Clock.get().sleep(Math.min(intervalMillis, remainingMillis));
     }
   }
 
@@ -49,6 +49,9 @@ public class DroidDriverContext<R, E extends BaseUiElement<R, E>> {
     E element = map.get(rawElement);
     if (element == null) {
       element = driver.newUiElement(rawElement, parent);
+      if (driver.getDefaultTextSetter() != null) {
+        element.setTextSetter(driver.getDefaultTextSetter());
+      }
       map.put(rawElement, element);
     }
     return element;
@@ -21,17 +21,13 @@ import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import java.io.BufferedOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -51,6 +47,7 @@ import io.appium.droiddriver.util.Strings;
  * Find matching UiElement by XPath.
  */
 public class ByXPath implements Finder {
+  private static final String UIAUTOMATOR_DUMP_SUFFIX = ".uix";
   private static final XPath XPATH_COMPILER = XPathFactory.newInstance().newXPath();
   // document needs to be static so that when buildDomNode is called recursively
   // on children they are in the same document to be appended.
@@ -166,16 +163,6 @@ public class ByXPath implements Finder {
     setAttribute(element, Attribute.SELECTED, uiElement.isSelected());
     element.setAttribute(Attribute.BOUNDS.getName(), uiElement.getBounds().toShortString());
 
-    // If we're dumping for debugging, add extra information
-    if (!UiElement.VISIBLE.equals(predicate)) {
-      if (!uiElement.isVisible()) {
-        element.setAttribute(BaseUiElement.ATTRIB_NOT_VISIBLE, "");
-      } else if (!uiElement.getVisibleBounds().equals(uiElement.getBounds())) {
-        element.setAttribute(BaseUiElement.ATTRIB_VISIBLE_BOUNDS, uiElement.getVisibleBounds()
-            .toShortString());
-      }
-    }
-
     for (BaseUiElement<?, ?> child : uiElement.getChildren(predicate)) {
       element.appendChild(getDomNode(child, predicate));
     }
@@ -195,27 +182,28 @@ public class ByXPath implements Finder {
     }
   }
 
+  /**
+   * Dumps the tree rooted at {@code uiElement} to {@code path}, including
+   * invisible UiElements. If {@code path} ends with ".uix", the dump is in
+   * uiautomatorviewer format; otherwise it has the same tags and attributes as
+   * the DOM XPath is evaluated against.
+   * <p>
+   * The dump is streamed to the file without building a DOM, and does not
+   * affect the DOM cached for find().
+   */
   public static boolean dumpDom(String path, BaseUiElement<?, ?> uiElement) {
-    BufferedOutputStream bos = null;
+    Writer writer = null;
     try {
-      bos = FileUtils.open(path);
-      Transformer transformer = TransformerFactory.newInstance().newTransformer();
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      // find() filters invisible UiElements, but this is for debugging and
-      // invisible UiElements may be of interest.
-      clearData();
-      Element domNode = getDomNode(uiElement, null);
-      transformer.transform(new DOMSource(domNode), new StreamResult(bos));
+      writer = new OutputStreamWriter(FileUtils.open(path), "UTF-8");
+      new UiElementXmlWriter(writer, path.endsWith(UIAUTOMATOR_DUMP_SUFFIX)).write(uiElement);
       Logs.log(Log.INFO, "Wrote dom to " + path);
     } catch (Exception e) {
-      Logs.log(Log.ERROR, e, "Failed to transform node");
+      Logs.log(Log.ERROR, e, "Failed to dump dom");
       return false;
     } finally {
-      // We built DOM with invisible UiElements. Don't use it for find()!
-      clearData();
-      if (bos != null) {
+      if (writer != null) {
         try {
-          bos.close();
+          writer.close();
         } catch (Exception e) {
           // ignore
         }
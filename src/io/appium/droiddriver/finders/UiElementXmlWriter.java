@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.finders;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import io.appium.droiddriver.base.BaseUiElement;
+
+/**
+ * Writes a UiElement tree as XML directly to a {@link Writer}, without
+ * building a DOM. Characters that are not allowed in XML 1.0 are replaced with
+ * '?'.
+ * <p>
+ * Two formats are supported: the DroidDriver format, which uses the same tags
+ * and attributes as the DOM {@link ByXPath} evaluates against, and the
+ * uiautomatorviewer format, which can be opened in uiautomatorviewer as a
+ * ".uix" file.
+ */
+class UiElementXmlWriter {
+  private static final String INDENT = "  ";
+
+  private final Writer writer;
+  private final boolean uiAutomatorFormat;
+
+  /**
+   * @param writer the Writer to write to; should be buffered
+   * @param uiAutomatorFormat whether to write in uiautomatorviewer format
+   */
+  UiElementXmlWriter(Writer writer, boolean uiAutomatorFormat) {
+    this.writer = writer;
+    this.uiAutomatorFormat = uiAutomatorFormat;
+  }
+
+  /**
+   * Writes the tree rooted at {@code root}, including invisible UiElements.
+   */
+  void write(BaseUiElement<?, ?> root) throws IOException {
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+    if (uiAutomatorFormat) {
+      writer.write("<hierarchy rotation=\"0\">\n");
+      writeElement(root, 0, 1);
+      writer.write("</hierarchy>\n");
+    } else {
+      writeElement(root, 0, 0);
+    }
+    writer.flush();
+  }
+
+  private void writeElement(BaseUiElement<?, ?> uiElement, int index, int depth)
+      throws IOException {
+    String className = uiElement.getClassName();
+    if (className == null) {
+      className = "UNKNOWN";
+    }
+    String tag = uiAutomatorFormat ? "node" : XPaths.tag(className);
+    indent(depth);
+    writer.write('<');
+    writer.write(tag);
+    if (uiAutomatorFormat) {
+      writeUiAutomatorAttributes(uiElement, index, className);
+    } else {
+      writeAttributes(uiElement, className);
+    }
+
+    // This is for debugging and invisible UiElements may be of interest.
+    if (!uiElement.isVisible()) {
+      writeAttribute(BaseUiElement.ATTRIB_NOT_VISIBLE, uiAutomatorFormat ? "true" : "");
+    } else if (!uiElement.getVisibleBounds().equals(uiElement.getBounds())) {
+      writeAttribute(BaseUiElement.ATTRIB_VISIBLE_BOUNDS,
+          uiElement.getVisibleBounds().toShortString());
+    }
+
+    int childIndex = 0;
+    for (BaseUiElement<?, ?> child : uiElement.getChildren(null)) {
+      if (childIndex == 0) {
+        writer.write(">\n");
+      }
+      writeElement(child, childIndex++, depth + 1);
+    }
+    if (childIndex == 0) {
+      writer.write("/>\n");
+    } else {
+      indent(depth);
+      writer.write("</");
+      writer.write(tag);
+      writer.write(">\n");
+    }
+  }
+
+  // Same attributes as ByXPath; boolean attributes are present only if true.
+  private void writeAttributes(BaseUiElement<?, ?> uiElement, String className) throws IOException {
+    writeAttribute(Attribute.CLASS.getName(), className);
+    writeAttribute(Attribute.RESOURCE_ID.getName(), uiElement.getResourceId());
+    writeAttribute(Attribute.PACKAGE.getName(), uiElement.getPackageName());
+    writeAttribute(Attribute.CONTENT_DESC.getName(), uiElement.getContentDescription());
+    writeAttribute(Attribute.TEXT.getName(), uiElement.getText());
+    writeFlag(Attribute.CHECKABLE, uiElement.isCheckable());
+    writeFlag(Attribute.CHECKED, uiElement.isChecked());
+    writeFlag(Attribute.CLICKABLE, uiElement.isClickable());
+    writeFlag(Attribute.ENABLED, uiElement.isEnabled());
+    writeFlag(Attribute.FOCUSABLE, uiElement.isFocusable());
+    writeFlag(Attribute.FOCUSED, uiElement.isFocused());
+    writeFlag(Attribute.SCROLLABLE, uiElement.isScrollable());
+    writeFlag(Attribute.LONG_CLICKABLE, uiElement.isLongClickable());
+    writeFlag(Attribute.PASSWORD, uiElement.isPassword());
+    writeSelection(uiElement);
+    writeFlag(Attribute.SELECTED, uiElement.isSelected());
+    writeAttribute(Attribute.BOUNDS.getName(), uiElement.getBounds().toShortString());
+  }
+
+  // Same attributes and order as uiautomator dumps (and to-uiautomator.xsl).
+  private void writeUiAutomatorAttributes(BaseUiElement<?, ?> uiElement, int index,
+      String className)
+      throws IOException {
+    writeAttribute("index", Integer.toString(index));
+    writeAttribute(Attribute.TEXT.getName(), nullToEmpty(uiElement.getText()));
+    writeAttribute(Attribute.RESOURCE_ID.getName(), nullToEmpty(uiElement.getResourceId()));
+    writeAttribute(Attribute.CLASS.getName(), className);
+    writeAttribute(Attribute.PACKAGE.getName(), nullToEmpty(uiElement.getPackageName()));
+    writeAttribute(Attribute.CONTENT_DESC.getName(),
+        nullToEmpty(uiElement.getContentDescription()));
+    writeBoolean(Attribute.CHECKABLE, uiElement.isCheckable());
+    writeBoolean(Attribute.CHECKED, uiElement.isChecked());
+    writeBoolean(Attribute.CLICKABLE, uiElement.isClickable());
+    writeBoolean(Attribute.ENABLED, uiElement.isEnabled());
+    writeBoolean(Attribute.FOCUSABLE, uiElement.isFocusable());
+    writeBoolean(Attribute.FOCUSED, uiElement.isFocused());
+    writeBoolean(Attribute.SCROLLABLE, uiElement.isScrollable());
+    writeBoolean(Attribute.LONG_CLICKABLE, uiElement.isLongClickable());
+    writeBoolean(Attribute.PASSWORD, uiElement.isPassword());
+    writeBoolean(Attribute.SELECTED, uiElement.isSelected());
+    writeSelection(uiElement);
+    writeAttribute(Attribute.BOUNDS.getName(), uiElement.getBounds().toShortString());
+  }
+
+  private void writeSelection(BaseUiElement<?, ?> uiElement) throws IOException {
+    if (uiElement.hasSelection()) {
+      writeAttribute(Attribute.SELECTION_START.getName(),
+          Integer.toString(uiElement.getSelectionStart()));
+      writeAttribute(Attribute.SELECTION_END.getName(),
+          Integer.toString(uiElement.getSelectionEnd()));
+    }
+  }
+
+  // add attribute only if it's true
+  private void writeFlag(Attribute attr, boolean value) throws IOException {
+    if (value) {
+      writeAttribute(attr.getName(), "");
+    }
+  }
+
+  private void writeBoolean(Attribute attr, boolean value) throws IOException {
+    writeAttribute(attr.getName(), value ? "true" : "false");
+  }
+
+  private void writeAttribute(String name, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    writer.write(' ');
+    writer.write(name);
+    writer.write("=\"");
+    writeEscaped(value);
+    writer.write('"');
+  }
+
+  private void writeEscaped(String value) throws IOException {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '&':
+          writer.write("&amp;");
+          break;
+        case '<':
+          writer.write("&lt;");
+          break;
+        case '>':
+          writer.write("&gt;");
+          break;
+        case '"':
+          writer.write("&quot;");
+          break;
+        // Preserve whitespace that attribute normalization would replace
+        case '\t':
+          writer.write("&#9;");
+          break;
+        case '\n':
+          writer.write("&#10;");
+          break;
+        case '\r':
+          writer.write("&#13;");
+          break;
+        default:
+          if (Character.isHighSurrogate(c) && i + 1 < length
+              && Character.isLowSurrogate(value.charAt(i + 1))) {
+            writer.write(c);
+            writer.write(value.charAt(++i));
+          } else if (c < 0x20 || c == 0xFFFE || c == 0xFFFF
+              || (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE)) {
+            writer.write('?');
+          } else {
+            writer.write(c);
+          }
+      }
+    }
+  }
+
+  private void indent(int depth) throws IOException {
+    for (int i = 0; i < depth; i++) {
+      writer.write(INDENT);
+    }
+  }
+
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
+  }
+}
@@ -30,6 +30,7 @@ import java.lang.reflect.Modifier;
 
 import io.appium.droiddriver.DroidDriver;
 import io.appium.droiddriver.exceptions.UnrecoverableException;
+import io.appium.droiddriver.util.ActionStats;
 import io.appium.droiddriver.util.FileUtils;
 import io.appium.droiddriver.util.Logs;
 
@@ -131,6 +132,9 @@ public abstract class BaseDroidDriverTest<T extends Activity> extends
         dumpHprof();
       } else if (uncaughtException == null) {
         String baseFileName = getBaseFileName();
+        if (ActionStats.isEnabled()) {
+          ActionStats.writeJson(baseFileName + ".timing.json", getTestName());
+        }
         driver.dumpUiElementTree(baseFileName + ".xml");
         driver.getUiDevice().takeScreenshot(baseFileName + ".png");
       }
@@ -163,6 +167,14 @@ public abstract class BaseDroidDriverTest<T extends Activity> extends
     return "dd/" + getClass().getSimpleName() + "." + getName();
   }
 
+  /**
+   * Gets the name under which {@link ActionStats} are aggregated for the
+   * current test.
+   */
+  protected String getTestName() {
+    return getClass().getName() + "#" + getName();
+  }
+
   protected void dumpHprof() throws IOException {
     String path = FileUtils.getAbsoluteFile(getBaseFileName() + ".hprof").getPath();
     // create an empty readable file
@@ -184,6 +196,7 @@ public abstract class BaseDroidDriverTest<T extends Activity> extends
       onFailure(uncaughtException);
     }
 
+    ActionStats.setCurrentTest(getTestName());
     Throwable exception = null;
     try {
       setUp();
@@ -201,6 +214,7 @@ public abstract class BaseDroidDriverTest<T extends Activity> extends
           exception = tearDownException;
         }
       }
+      ActionStats.setCurrentTest(null);
     }
     if (exception != null) {
       throw exception;
@@ -16,12 +16,16 @@
 
 package io.appium.droiddriver.helpers;
 
+import java.util.Iterator;
+
 import io.appium.droiddriver.DroidDriver;
 import io.appium.droiddriver.UiElement;
 import io.appium.droiddriver.exceptions.ElementNotFoundException;
 import io.appium.droiddriver.finders.Finder;
 import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.scroll.ListCrawler;
 import io.appium.droiddriver.scroll.Scroller;
+import io.appium.droiddriver.scroll.StepBasedScroller;
 
 /**
  * Helper for Scroller.
@@ -78,4 +82,26 @@ public class ScrollerHelper {
       return false;
     }
   }
+
+  /**
+   * Crawls {@code containerFinder} from the beginning to the end with
+   * {@code crawler} and calls {@code callback} once with each item (child of
+   * the container).
+   *
+   * @param crawler the crawler, for example, from
+   *        {@link StepBasedScroller#newCrawler}
+   * @return the number of items passed to {@code callback}
+   */
+  public int crawl(ListCrawler crawler, ListCrawler.Callback callback) {
+    return crawler.crawl(driver, containerFinder, callback);
+  }
+
+  /**
+   * Returns an Iterator over the items of {@code containerFinder}, crawling
+   * with {@code crawler} from the beginning as items are requested. See
+   * {@link ListCrawler}.
+   */
+  public Iterator<UiElement> crawl(ListCrawler crawler) {
+    return crawler.iterator(driver, containerFinder);
+  }
 }
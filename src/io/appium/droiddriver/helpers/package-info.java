@@ -91,7 +91,7 @@
  *       your tests have to match the different execution paths of AUT, which requires insight into
  *       the implementation of the AUT. A tip for testing older devices: uiautomatorviewer does not
  *       work on ore-API16 devices (the "Device screenshot" button won't work), but you can use it
- *       with dumps from DroidDriver (use to-uiautomator.xsl to convert the format).</li>
+ *       with dumps from DroidDriver (dump to a path ending with ".uix").</li>
  *   <li>"com.android.launcher has stopped unexpectedly" and logcat says OutOfMemoryError
  *       <br>
  *       This is sometimes seen on GingerBread or other low-memory and slow devices. GC is not fast
@@ -17,7 +17,6 @@
 package io.appium.droiddriver.instrumentation;
 
 import android.app.Instrumentation;
-import android.os.SystemClock;
 import android.util.Log;
 import android.view.View;
 
@@ -29,6 +28,7 @@ import io.appium.droiddriver.base.BaseDroidDriver;
 import io.appium.droiddriver.base.DroidDriverContext;
 import io.appium.droiddriver.exceptions.NoRunningActivityException;
 import io.appium.droiddriver.util.ActivityUtils;
+import io.appium.droiddriver.util.Clock;
 import io.appium.droiddriver.util.InstrumentationUtils;
 import io.appium.droiddriver.util.Logs;
 
@@ -85,17 +85,17 @@ public class InstrumentationDriver extends BaseDroidDriver<View, ViewElement> {
 
   private void waitForRunningActivity() {
     long timeoutMillis = getPoller().getTimeoutMillis();
-    long end = SystemClock.uptimeMillis() + timeoutMillis;
+    long end = Clock.get().uptimeMillis() + timeoutMillis;
     while (true) {
       if (ActivityUtils.getRunningActivity() != null) {
         return;
       }
-      long remainingMillis = end - SystemClock.uptimeMillis();
+      long remainingMillis = end - Clock.get().uptimeMillis();
       if (remainingMillis < 0) {
         throw new NoRunningActivityException(String.format(
             "Cannot find the running activity after %d milliseconds", timeoutMillis));
       }
-      SystemClock.sleep(Math.min(250, remainingMillis));
+      Clock.get().sleep(Math.min(250, remainingMillis));
     }
   }
 
@@ -17,14 +17,32 @@
 package io.appium.droiddriver.instrumentation;
 
 import android.app.Instrumentation;
+import android.os.Build;
+import android.util.Log;
+import android.view.InputDevice;
 import android.view.InputEvent;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 
-import io.appium.droiddriver.actions.InputInjector;
+import java.lang.reflect.Method;
+
+import io.appium.droiddriver.actions.AsyncInputInjector;
 import io.appium.droiddriver.exceptions.ActionException;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * Injects events via {@link Instrumentation}. Asynchronous injection uses the hidden {@code
+ * InputManager.injectInputEvent} via reflection, the same method {@link
+ * Instrumentation#sendPointerSync} uses with a synchronous mode; if that is not available, events
+ * are injected synchronously.
+ */
+public class InstrumentationInputInjector implements AsyncInputInjector {
+  // InputManager.INJECT_INPUT_EVENT_MODE_ASYNC
+  private static final int INJECT_INPUT_EVENT_MODE_ASYNC = 0;
+  private static Object inputManager;
+  private static Method injectInputEventMethod;
+  private static boolean reflectionFailed;
 
-public class InstrumentationInputInjector implements InputInjector {
   private final Instrumentation instrumentation;
 
   public InstrumentationInputInjector(Instrumentation instrumentation) {
@@ -42,4 +60,63 @@ public class InstrumentationInputInjector implements InputInjector {
     }
     return true;
   }
+
+  @Override
+  public boolean injectInputEventAsync(InputEvent event) {
+    if (!initReflection()) {
+      return injectInputEvent(event);
+    }
+    InputEvent asyncEvent;
+    if (event instanceof MotionEvent) {
+      asyncEvent = event;
+    } else if (event instanceof KeyEvent) {
+      // Instrumentation.sendKeySync marks key events as from system.
+      asyncEvent = KeyEvent.changeFlags((KeyEvent) event,
+          ((KeyEvent) event).getFlags() | KeyEvent.FLAG_FROM_SYSTEM);
+    } else {
+      throw new ActionException("Unknown input event type: " + event);
+    }
+    setSourceIfUnknown(asyncEvent);
+
+    try {
+      return (Boolean) injectInputEventMethod.invoke(inputManager, asyncEvent,
+          INJECT_INPUT_EVENT_MODE_ASYNC);
+    } catch (Exception e) {
+      throw new ActionException("Failed to inject " + asyncEvent, e);
+    }
+  }
+
+  private static void setSourceIfUnknown(InputEvent event) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB_MR1) {
+      return;
+    }
+    if (event instanceof MotionEvent
+        && (event.getSource() & InputDevice.SOURCE_CLASS_POINTER) == 0) {
+      ((MotionEvent) event).setSource(InputDevice.SOURCE_TOUCHSCREEN);
+    } else if (event instanceof KeyEvent && event.getSource() == InputDevice.SOURCE_UNKNOWN) {
+      ((KeyEvent) event).setSource(InputDevice.SOURCE_KEYBOARD);
+    }
+  }
+
+  private static synchronized boolean initReflection() {
+    if (reflectionFailed || Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+      return false;
+    }
+    if (injectInputEventMethod != null) {
+      return true;
+    }
+    try {
+      Class<?> inputManagerClass = Class.forName("android.hardware.input.InputManager");
+      Object instance = inputManagerClass.getMethod("getInstance").invoke(null);
+      Method method =
+          inputManagerClass.getMethod("injectInputEvent", InputEvent.class, int.class);
+      inputManager = instance;
+      injectInputEventMethod = method;
+      return true;
+    } catch (Exception e) {
+      reflectionFailed = true;
+      Logs.log(Log.WARN, e, "Asynchronous injection is not available; injecting synchronously");
+      return false;
+    }
+  }
 }
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -37,6 +38,7 @@ import io.appium.droiddriver.actions.InputInjector;
 import io.appium.droiddriver.base.BaseUiElement;
 import io.appium.droiddriver.base.DroidDriverContext;
 import io.appium.droiddriver.finders.Attribute;
+import io.appium.droiddriver.util.ActionStats;
 import io.appium.droiddriver.util.InstrumentationUtils;
 import io.appium.droiddriver.util.Preconditions;
 
@@ -46,12 +48,17 @@ import static io.appium.droiddriver.util.Strings.charSequenceToString;
  * A UiElement that is backed by a View.
  */
 public class ViewElement extends BaseUiElement<View, ViewElement> {
+  /**
+   * Takes a snapshot of a View and its descendants. The whole subtree is snapshotted in one call on
+   * the main thread, which avoids a round trip to the main thread per View.
+   */
   private static class AttributesSnapshot implements Callable<Void> {
     private final View view;
     final Map<Attribute, Object> attribs = new EnumMap<Attribute, Object>(Attribute.class);
     boolean visible;
     Rect visibleBounds;
-    List<View> childViews;
+    // Keyed by the child View; View does not override equals.
+    Map<View, AttributesSnapshot> childSnapshots;
 
     private AttributesSnapshot(View view) {
       this.view = view;
@@ -89,7 +96,7 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
       // needs to have the VISIBLE flag as well as non-empty bounds to be
       // visible.
       this.visible = view.isShown() && !visibleBounds.isEmpty();
-      setChildViews();
+      setChildSnapshots();
       return null;
     }
 
@@ -138,11 +145,7 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
     }
 
     private Rect getBounds() {
-      Rect rect = new Rect();
-      int[] xy = new int[2];
-      view.getLocationOnScreen(xy);
-      rect.set(xy[0], xy[1], xy[0] + view.getWidth(), xy[1] + view.getHeight());
-      return rect;
+      return getBoundsOnScreen(view);
     }
 
     private Rect getVisibleBounds() {
@@ -162,17 +165,19 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
       return visibleBounds;
     }
 
-    private void setChildViews() {
+    private void setChildSnapshots() {
       if (!(view instanceof ViewGroup)) {
         return;
       }
       ViewGroup group = (ViewGroup) view;
       int childCount = group.getChildCount();
-      childViews = new ArrayList<View>(childCount);
+      childSnapshots = new LinkedHashMap<View, AttributesSnapshot>(childCount);
       for (int i = 0; i < childCount; i++) {
         View child = group.getChildAt(i);
         if (child != null) {
-          childViews.add(child);
+          AttributesSnapshot childSnapshot = new AttributesSnapshot(child);
+          childSnapshot.call();
+          childSnapshots.put(child, childSnapshot);
         }
       }
     }
@@ -208,6 +213,7 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
   private final boolean visible;
   private final Rect visibleBounds;
   private final ViewElement parent;
+  private final AttributesSnapshot snapshot;
   private final List<ViewElement> children;
 
   /**
@@ -215,28 +221,44 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
    * {@code ViewElement} instance are immutable. If the underlying view is
    * updated, a new {@code ViewElement} instance will be created in
    * {@link io.appium.droiddriver.DroidDriver#refreshUiElementTree}.
+   * <p>
+   * The snapshot covers the subtree rooted at {@code view} and is taken in one call on the main
+   * thread. The children are created with {@link DroidDriverContext#getElement}, so that they go
+   * through the driver's factory; if {@code parent} has captured {@code view} in its snapshot, that
+   * is used without going back to the main thread.
+   * </p>
    */
   public ViewElement(DroidDriverContext<View, ViewElement> context, View view, ViewElement parent) {
     this.context = Preconditions.checkNotNull(context);
     this.view = Preconditions.checkNotNull(view);
     this.parent = parent;
-    AttributesSnapshot attributesSnapshot = new AttributesSnapshot(view);
-    InstrumentationUtils.runOnMainSyncWithTimeout(attributesSnapshot);
+    AttributesSnapshot captured = parent == null ? null : parent.getChildSnapshot(view);
+    this.snapshot = captured != null ? captured : takeSnapshot(view);
 
-    attributes = Collections.unmodifiableMap(attributesSnapshot.attribs);
-    this.visibleBounds = attributesSnapshot.visibleBounds;
-    this.visible = attributesSnapshot.visible;
-    if (attributesSnapshot.childViews == null) {
+    attributes = Collections.unmodifiableMap(snapshot.attribs);
+    this.visibleBounds = snapshot.visibleBounds;
+    this.visible = snapshot.visible;
+    if (snapshot.childSnapshots == null) {
       this.children = null;
     } else {
-      List<ViewElement> children = new ArrayList<ViewElement>(attributesSnapshot.childViews.size());
-      for (View childView : attributesSnapshot.childViews) {
+      List<ViewElement> children = new ArrayList<ViewElement>(snapshot.childSnapshots.size());
+      for (View childView : snapshot.childSnapshots.keySet()) {
         children.add(context.getElement(childView, this));
       }
       this.children = Collections.unmodifiableList(children);
     }
   }
 
+  private AttributesSnapshot getChildSnapshot(View childView) {
+    return snapshot.childSnapshots == null ? null : snapshot.childSnapshots.get(childView);
+  }
+
+  private static AttributesSnapshot takeSnapshot(View view) {
+    AttributesSnapshot attributesSnapshot = new AttributesSnapshot(view);
+    InstrumentationUtils.runOnMainSyncWithTimeout(attributesSnapshot);
+    return attributesSnapshot;
+  }
+
   @Override
   public Rect getVisibleBounds() {
     return visibleBounds;
@@ -262,6 +284,28 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
     return attributes;
   }
 
+  // Called on the main thread
+  private static Rect getBoundsOnScreen(View view) {
+    Rect rect = new Rect();
+    int[] xy = new int[2];
+    view.getLocationOnScreen(xy);
+    rect.set(xy[0], xy[1], xy[0] + view.getWidth(), xy[1] + view.getHeight());
+    return rect;
+  }
+
+  /**
+   * Reads the bounds of the View on the main thread.
+   */
+  @Override
+  public Rect getCurrentBounds() {
+    return InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Rect>() {
+      @Override
+      public Rect call() {
+        return getBoundsOnScreen(view);
+      }
+    });
+  }
+
   @Override
   public InputInjector getInjector() {
     return context.getDriver().getInjector();
@@ -270,7 +314,9 @@ public class ViewElement extends BaseUiElement<View, ViewElement> {
   @Override
   protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis) {
     futureTask.run();
-    InstrumentationUtils.tryWaitForIdleSync(timeoutMillis);
+    if (!InstrumentationUtils.tryWaitForIdleSync(timeoutMillis)) {
+      ActionStats.onSyncTimeout();
+    }
   }
 
   @Override
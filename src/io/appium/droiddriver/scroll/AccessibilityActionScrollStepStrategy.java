@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.annotation.TargetApi;
+import android.app.UiAutomation;
+import android.app.UiAutomation.AccessibilityEventFilter;
+import android.util.Log;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import java.util.concurrent.TimeoutException;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.UnrecoverableException;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.scroll.Direction.DirectionConverter;
+import io.appium.droiddriver.scroll.Direction.LogicalDirection;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.uiautomation.UiAutomationElement;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * An {@link AccessibilityEventScrollStepStrategy} that scrolls by performing
+ * {@link AccessibilityNodeInfo#ACTION_SCROLL_FORWARD} or
+ * {@link AccessibilityNodeInfo#ACTION_SCROLL_BACKWARD} on the container
+ * instead of injecting a swipe. A step is a single binder call that does not
+ * depend on touch slop or fling physics.
+ * <p>
+ * The {@link PhysicalDirection} is mapped to a {@link LogicalDirection} by the
+ * {@link DirectionConverter}. The end is reached when the container does not
+ * offer or refuses the action; {@link #scroll} then returns false without
+ * waiting. Otherwise it waits only until the first
+ * {@link AccessibilityEvent#TYPE_VIEW_SCROLLED} from the container, up to
+ * {@code scrollEventTimeoutMillis}. If the container is not a
+ * {@link UiAutomationElement}, it falls back to swiping as in the super class.
+ * </p>
+ */
+@TargetApi(18)
+public class AccessibilityActionScrollStepStrategy extends AccessibilityEventScrollStepStrategy {
+  /**
+   * Accepts the first {@link AccessibilityEvent#TYPE_VIEW_SCROLLED} from the
+   * container.
+   */
+  static class FirstScrollEventFilter implements AccessibilityEventFilter {
+    private final AccessibilityNodeInfo container;
+
+    FirstScrollEventFilter(AccessibilityNodeInfo container) {
+      this.container = container;
+    }
+
+    @Override
+    public boolean accept(AccessibilityEvent event) {
+      if ((event.getEventType() & AccessibilityEvent.TYPE_VIEW_SCROLLED) == 0) {
+        return false;
+      }
+      AccessibilityNodeInfo source = event.getSource();
+      if (source == null) {
+        return false;
+      }
+      boolean fromContainer = source.equals(container);
+      source.recycle();
+      return fromContainer;
+    }
+  }
+
+  /**
+   * Performs the scroll action and keeps its result.
+   */
+  static class ScrollActionCommand implements Runnable {
+    private final AccessibilityNodeInfo container;
+    private final int action;
+    boolean performed;
+
+    ScrollActionCommand(AccessibilityNodeInfo container, int action) {
+      this.container = container;
+      this.action = action;
+    }
+
+    @Override
+    public void run() {
+      performed = container.performAction(action);
+    }
+  }
+
+  private final UiAutomation uiAutomation;
+  private final long scrollEventTimeoutMillis;
+
+  public AccessibilityActionScrollStepStrategy(UiAutomation uiAutomation,
+      long scrollEventTimeoutMillis, DirectionConverter converter) {
+    super(uiAutomation, scrollEventTimeoutMillis, converter);
+    this.uiAutomation = uiAutomation;
+    this.scrollEventTimeoutMillis = scrollEventTimeoutMillis;
+  }
+
+  @Override
+  public boolean scroll(DroidDriver driver, Finder containerFinder, PhysicalDirection direction) {
+    UiElement container = driver.on(containerFinder);
+    if (!(container instanceof UiAutomationElement)) {
+      return super.scroll(driver, containerFinder, direction);
+    }
+    AccessibilityNodeInfo node = ((UiAutomationElement) container).getRawElement();
+    int action = getAction(direction);
+    // The node lists a scroll action only while the container can scroll that
+    // way, so the end is known without performing the action.
+    if (!node.refresh() || (node.getActions() & action) == 0) {
+      return false;
+    }
+
+    ScrollActionCommand command = new ScrollActionCommand(node, action);
+    try {
+      uiAutomation.executeAndWaitForEvent(command, new FirstScrollEventFilter(node),
+          scrollEventTimeoutMillis);
+    } catch (IllegalStateException e) {
+      throw new UnrecoverableException(e);
+    } catch (TimeoutException e) {
+      if (command.performed) {
+        Logs.log(Log.DEBUG, "No scroll event from the container after " + direction);
+      }
+    }
+    return command.performed;
+  }
+
+  @Override
+  public void doScroll(UiElement container, PhysicalDirection direction) {
+    if (!(container instanceof UiAutomationElement)) {
+      super.doScroll(container, direction);
+      return;
+    }
+    ((UiAutomationElement) container).getRawElement().performAction(getAction(direction));
+  }
+
+  private int getAction(PhysicalDirection direction) {
+    LogicalDirection logicalDirection = getDirectionConverter().toLogicalDirection(direction);
+    return logicalDirection == LogicalDirection.FORWARD
+        ? AccessibilityNodeInfo.ACTION_SCROLL_FORWARD
+        : AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD;
+  }
+}
@@ -34,7 +34,7 @@ import io.appium.droiddriver.util.Strings;
  * used, which skips invisible children, or in the case of dynamic list, which
  * shows more items when scrolling beyond the end.
  */
-public class DynamicSentinelStrategy extends SentinelStrategy {
+public class DynamicSentinelStrategy extends SentinelStrategy implements RefreshesAfterScroll {
 
   /**
    * Interface for determining whether sentinel is updated.
@@ -174,19 +174,33 @@ public class DynamicSentinelStrategy extends SentinelStrategy {
   }
 
   private final IsUpdatedStrategy isUpdatedStrategy;
+  private final PageCalibrator pageCalibrator;
   private UiElement lastSentinel;
 
   /**
    * Constructs with {@code Getter}s that decorate the given {@code Getter}s
-   * with {@link UiElement#VISIBLE}, and the given {@code isUpdatedStrategy} and
-   * {@code directionConverter}. Be careful with {@code Getter}s: the sentinel
-   * after each scroll should be unique.
+   * with {@link UiElement#VISIBLE}, and the given {@code isUpdatedStrategy},
+   * {@code directionConverter} and {@code pageCalibrator}. Be careful with
+   * {@code Getter}s: the sentinel after each scroll should be unique.
+   *
+   * @param pageCalibrator scrolls one page per step if not null; otherwise
+   *        {@link UiElement#scroll} is used
    */
   public DynamicSentinelStrategy(IsUpdatedStrategy isUpdatedStrategy, Getter backwardGetter,
-      Getter forwardGetter, DirectionConverter directionConverter) {
+      Getter forwardGetter, DirectionConverter directionConverter,
+      PageCalibrator pageCalibrator) {
     super(new MorePredicateGetter(backwardGetter, UiElement.VISIBLE), new MorePredicateGetter(
         forwardGetter, UiElement.VISIBLE), directionConverter);
     this.isUpdatedStrategy = isUpdatedStrategy;
+    this.pageCalibrator = pageCalibrator;
+  }
+
+  /**
+   * Defaults to no {@link PageCalibrator}.
+   */
+  public DynamicSentinelStrategy(IsUpdatedStrategy isUpdatedStrategy, Getter backwardGetter,
+      Getter forwardGetter, DirectionConverter directionConverter) {
+    this(isUpdatedStrategy, backwardGetter, forwardGetter, directionConverter, null);
   }
 
   /**
@@ -210,14 +224,25 @@ public class DynamicSentinelStrategy extends SentinelStrategy {
   public boolean scroll(DroidDriver driver, Finder containerFinder, PhysicalDirection direction) {
     UiElement oldSentinel = getOldSentinel(driver, containerFinder, direction);
     doScroll(oldSentinel.getParent(), direction);
-    UiElement newSentinel = getSentinel(driver, containerFinder, direction);
+    settleAndRefresh(driver, containerFinder, oldSentinel);
+    UiElement newSentinel = getSentinelFromSnapshot(driver, containerFinder, direction);
     lastSentinel = newSentinel;
     return isUpdatedStrategy.isSentinelUpdated(newSentinel, oldSentinel);
   }
 
+  @Override
+  public void doScroll(UiElement container, PhysicalDirection direction) {
+    if (pageCalibrator == null) {
+      super.doScroll(container, direction);
+    } else {
+      pageCalibrator.scrollPage(container, direction);
+    }
+  }
+
   private UiElement getOldSentinel(DroidDriver driver, Finder containerFinder,
       PhysicalDirection direction) {
-    return lastSentinel != null ? lastSentinel : getSentinel(driver, containerFinder, direction);
+    return lastSentinel != null ? lastSentinel
+        : getSentinelFromSnapshot(driver, containerFinder, direction);
   }
 
   @Override
@@ -235,7 +260,7 @@ public class DynamicSentinelStrategy extends SentinelStrategy {
 
   @Override
   public String toString() {
-    return String.format("DynamicSentinelStrategy{%s, isUpdatedStrategy=%s}", super.toString(),
-        isUpdatedStrategy);
+    return String.format("DynamicSentinelStrategy{%s, isUpdatedStrategy=%s, pageCalibrator=%s}",
+        super.toString(), isUpdatedStrategy, pageCalibrator);
   }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.annotation.TargetApi;
+import android.app.UiAutomation;
+import android.os.Build;
+import android.util.Log;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.ElementNotFoundException;
+import io.appium.droiddriver.exceptions.UnrecoverableException;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.scroll.AccessibilityActionScrollStepStrategy.FirstScrollEventFilter;
+import io.appium.droiddriver.scroll.AccessibilityActionScrollStepStrategy.ScrollActionCommand;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.uiautomation.UiAutomationElement;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A {@link Scroller} that heads straight for the desired item when its index in the container is
+ * known, instead of scrolling one page at a time and looking for it on each page.
+ * <p>
+ * The index is the row index in the {@link AccessibilityNodeInfo.CollectionItemInfo} of the item,
+ * which requires API 19. It is the adapter position for a ListView, but the row, not the position,
+ * for a GridView. The index can be given explicitly with {@link #scrollToIndex}, or remembered from
+ * a previous {@code scrollTo} that found the same item. The direction to the item is known from
+ * the rows currently shown, so the container is scrolled with {@link
+ * AccessibilityNodeInfo#ACTION_SCROLL_FORWARD} or {@link
+ * AccessibilityNodeInfo#ACTION_SCROLL_BACKWARD} until the row is shown, without looking for the
+ * item on each page. Each action waits for the scroll event from the container before the next one;
+ * back-to-back actions restart the smooth scroll and would move about one page in total.
+ * </p>
+ * If the index is not known, or the children of the container have no CollectionItemInfo, the
+ * fallback Scroller is used, and the index of the found item is remembered if available.
+ */
+@TargetApi(18)
+public class IndexJumpScroller implements Scroller {
+  /**
+   * The range of row indices shown in the container.
+   */
+  private static class Window {
+    final int fromIndex;
+    final int toIndex;
+
+    Window(int fromIndex, int toIndex) {
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    boolean contains(int index) {
+      return fromIndex <= index && index <= toIndex;
+    }
+
+    int size() {
+      return toIndex - fromIndex + 1;
+    }
+
+    @Override
+    public String toString() {
+      return "[" + fromIndex + ", " + toIndex + "]";
+    }
+  }
+
+  private final UiAutomation uiAutomation;
+  private final long scrollEventTimeoutMillis;
+  private final int maxScrolls;
+  private final Scroller fallback;
+  // Remembered indices, keyed by containerFinder and itemFinder descriptions
+  private final Map<String, Integer> indexMemo = new HashMap<String, Integer>();
+
+  /**
+   * @param uiAutomation             the UiAutomation to perform scroll actions and get events
+   * @param scrollEventTimeoutMillis the timeout to wait for the scroll event of each action
+   * @param maxScrolls               the maximum number of pages in total to scroll to an index
+   * @param fallback                 the Scroller to use if the index is not known
+   */
+  public IndexJumpScroller(UiAutomation uiAutomation, long scrollEventTimeoutMillis,
+      int maxScrolls, Scroller fallback) {
+    this.uiAutomation = uiAutomation;
+    this.scrollEventTimeoutMillis = scrollEventTimeoutMillis;
+    this.maxScrolls = maxScrolls;
+    this.fallback = fallback;
+  }
+
+  /**
+   * Remembers that {@code itemFinder} is at row {@code index} in {@code containerFinder}, for
+   * example, from a previous crawl.
+   */
+  public void rememberIndex(Finder containerFinder, Finder itemFinder, int index) {
+    indexMemo.put(getMemoKey(containerFinder, itemFinder), index);
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder) {
+    String key = getMemoKey(containerFinder, itemFinder);
+    Integer index = indexMemo.get(key);
+    if (index != null) {
+      try {
+        return scrollToIndex(driver, containerFinder, itemFinder, index);
+      } catch (ElementNotFoundException e) {
+        // The content may have changed; forget the index and search.
+        Logs.log(Log.DEBUG, e, "Remembered index " + index + " is stale");
+        indexMemo.remove(key);
+      }
+    }
+    return remember(containerFinder, itemFinder,
+        fallback.scrollTo(driver, containerFinder, itemFinder));
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder,
+      PhysicalDirection direction) {
+    return remember(containerFinder, itemFinder,
+        fallback.scrollTo(driver, containerFinder, itemFinder, direction));
+  }
+
+  /**
+   * Jumps to row {@code index} in {@code containerFinder} and finds {@code itemFinder} there.
+   *
+   * @throws ElementNotFoundException if {@code itemFinder} is not found at {@code index}, or the
+   *                                  children of the container have no CollectionItemInfo
+   */
+  public UiElement scrollToIndex(DroidDriver driver, Finder containerFinder, Finder itemFinder,
+      int index) {
+    Logs.call(this, "scrollToIndex", driver, containerFinder, itemFinder, index);
+    Finder absoluteItemFinder = By.chain(containerFinder, itemFinder);
+    Window window = getWindow(driver.on(containerFinder));
+
+    int scrolls = 0;
+    while (window != null && !window.contains(index) && scrolls < maxScrolls) {
+      if (!scrollOnce(driver, containerFinder, index > window.toIndex)) {
+        // Reached an end.
+        break;
+      }
+      // The scroll event reports adapter positions, not rows; read the rows from the tree.
+      Window newWindow = getWindow(driver.on(containerFinder));
+      scrolls += getPagesMoved(window, newWindow);
+      window = newWindow;
+    }
+    Logs.logfmt(Log.DEBUG, "Jumped to %s for index %d after %d pages", window, index, scrolls);
+
+    if (driver.has(absoluteItemFinder)) {
+      return driver.find(absoluteItemFinder);
+    }
+    throw new ElementNotFoundException(absoluteItemFinder);
+  }
+
+  /**
+   * Performs one scroll action on the container and waits for its scroll event, so that the next
+   * action does not cut the smooth scroll short.
+   *
+   * @return whether the action was performed; false if the container cannot scroll that way
+   */
+  private boolean scrollOnce(DroidDriver driver, Finder containerFinder, boolean forward) {
+    UiElement container = driver.on(containerFinder);
+    if (!(container instanceof UiAutomationElement)) {
+      return false;
+    }
+    AccessibilityNodeInfo node = ((UiAutomationElement) container).getRawElement();
+    int action = forward ? AccessibilityNodeInfo.ACTION_SCROLL_FORWARD
+        : AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD;
+    if (!node.refresh() || (node.getActions() & action) == 0) {
+      return false;
+    }
+
+    ScrollActionCommand command = new ScrollActionCommand(node, action);
+    try {
+      uiAutomation.executeAndWaitForEvent(command, new FirstScrollEventFilter(node),
+          scrollEventTimeoutMillis);
+    } catch (IllegalStateException e) {
+      throw new UnrecoverableException(e);
+    } catch (TimeoutException e) {
+      if (command.performed) {
+        Logs.log(Log.DEBUG, "No scroll event from the container; reading the rows anyway");
+      }
+    }
+    return command.performed;
+  }
+
+  /**
+   * Returns the number of pages between {@code from} and {@code to}, at least 1 so that a scroll
+   * that barely moves still counts against maxScrolls.
+   */
+  private static int getPagesMoved(Window from, Window to) {
+    if (to == null) {
+      return 1;
+    }
+    int rows = Math.abs(to.fromIndex - from.fromIndex);
+    return Math.max(1, (rows + from.size() - 1) / from.size());
+  }
+
+  /**
+   * Returns the window from the CollectionItemInfo of the children of {@code container}, or null
+   * if not available.
+   */
+  @TargetApi(19)
+  private static Window getWindow(UiElement container) {
+    if (Build.VERSION.SDK_INT < 19 || !(container instanceof UiAutomationElement)) {
+      return null;
+    }
+    int fromIndex = Integer.MAX_VALUE;
+    int toIndex = -1;
+    for (UiElement child : container.getChildren(UiElement.VISIBLE)) {
+      int index = ListCrawler.getRowIndex(child);
+      if (index >= 0) {
+        fromIndex = Math.min(fromIndex, index);
+        toIndex = Math.max(toIndex, index);
+      }
+    }
+    return toIndex < 0 ? null : new Window(fromIndex, toIndex);
+  }
+
+  // Remembers the index of found, which is either an item of the container or
+  // a descendant of one.
+  private UiElement remember(Finder containerFinder, Finder itemFinder, UiElement found) {
+    for (UiElement element = found; element != null; element = element.getParent()) {
+      int index = ListCrawler.getRowIndex(element);
+      if (index >= 0) {
+        rememberIndex(containerFinder, itemFinder, index);
+        break;
+      }
+    }
+    return found;
+  }
+
+  private static String getMemoKey(Finder containerFinder, Finder itemFinder) {
+    return containerFinder + "/" + itemFinder;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("maxScrolls", maxScrolls)
+        .add("fallback", fallback).toString();
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.scroll.Direction.Axis;
+import io.appium.droiddriver.scroll.Direction.LogicalDirection;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.uiautomation.UiAutomationElement;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * Crawls a scrollable container from the beginning to the end, yielding each item (child of the
+ * container) once, for example, to verify the sort order or count of a list. Each page is visited
+ * once with a {@link ScrollStepStrategy}.
+ * <p>
+ * Pages overlap, so the keys of the items on a page, computed by a {@link KeyFunction}, are
+ * aligned with those on the previous page: the longest run at the start of the page that repeats
+ * the end of the previous page is skipped, and the rest is yielded. Only the previous page is
+ * remembered, so the memory footprint is bounded regardless of the length of the list. Adjacent
+ * items with identical keys are each yielded, except that a run of them that starts before the
+ * overlap of two pages and continues after it cannot be told apart from a longer overlap. The
+ * {@link #DEFAULT_KEY_FUNCTION} includes the row index of the item when the container provides
+ * one, which makes the keys unique.
+ * </p>
+ * An item is a snapshot of the page it is on; it is valid until the next page is loaded, which
+ * happens when the {@link Callback} returns or, with {@link #iterator}, when {@code hasNext} is
+ * called after the items of the current page have been consumed.
+ */
+public class ListCrawler {
+  /**
+   * Computes the key to deduplicate items across overlapping pages.
+   */
+  public interface KeyFunction {
+    String getKey(UiElement item);
+  }
+
+  /**
+   * Receives the items of a crawl.
+   */
+  public interface Callback {
+    /**
+     * Called once for each item.
+     *
+     * @return whether to continue crawling
+     */
+    boolean onItem(UiElement item);
+  }
+
+  /**
+   * The row index in the CollectionItemInfo of the item if it has one, and the resource ids and
+   * text of the visible elements in the subtree of the item.
+   */
+  public static final KeyFunction DEFAULT_KEY_FUNCTION = new KeyFunction() {
+    @Override
+    public String getKey(UiElement item) {
+      StringBuilder sb = new StringBuilder();
+      int index = getRowIndex(item);
+      if (index >= 0) {
+        sb.append('#').append(index).append(';');
+      }
+      appendKey(sb, item);
+      return sb.toString();
+    }
+
+    private void appendKey(StringBuilder sb, UiElement element) {
+      sb.append(element.getResourceId()).append(':').append(element.getText()).append(';');
+      for (UiElement child : element.getChildren(UiElement.VISIBLE)) {
+        appendKey(sb, child);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "DEFAULT_KEY_FUNCTION";
+    }
+  };
+
+  // The crawl is not looking for a particular item; any descendant will do.
+  private static final Finder ITEM_FINDER = By.any();
+
+  private final ScrollStepStrategy scrollStepStrategy;
+  private final Axis axis;
+  private final int maxScrolls;
+  private final KeyFunction keyFunction;
+
+  /**
+   * @param scrollStepStrategy the strategy to scroll one page at a time
+   * @param axis               the axis the container scrolls
+   * @param maxScrolls         the maximum number of scrolls in either direction
+   * @param keyFunction        computes the key to deduplicate items
+   */
+  public ListCrawler(ScrollStepStrategy scrollStepStrategy, Axis axis, int maxScrolls,
+      KeyFunction keyFunction) {
+    this.scrollStepStrategy = scrollStepStrategy;
+    this.axis = axis;
+    this.maxScrolls = maxScrolls;
+    this.keyFunction = keyFunction;
+  }
+
+  /**
+   * Constructs with {@link #DEFAULT_KEY_FUNCTION}.
+   */
+  public ListCrawler(ScrollStepStrategy scrollStepStrategy, Axis axis, int maxScrolls) {
+    this(scrollStepStrategy, axis, maxScrolls, DEFAULT_KEY_FUNCTION);
+  }
+
+  /**
+   * Returns a copy of this crawler with {@code keyFunction}.
+   */
+  public ListCrawler withKeyFunction(KeyFunction keyFunction) {
+    return new ListCrawler(scrollStepStrategy, axis, maxScrolls, keyFunction);
+  }
+
+  /**
+   * Crawls {@code containerFinder} from the beginning and calls {@code callback} with each item,
+   * until the end or {@code callback} returns false.
+   *
+   * @return the number of items passed to {@code callback}
+   */
+  public int crawl(DroidDriver driver, Finder containerFinder, Callback callback) {
+    Logs.call(this, "crawl", driver, containerFinder, callback);
+    Crawl crawl = new Crawl(driver, containerFinder);
+    int count = 0;
+    try {
+      while (crawl.hasNext()) {
+        count++;
+        if (!callback.onItem(crawl.next())) {
+          break;
+        }
+      }
+    } finally {
+      crawl.end();
+    }
+    return count;
+  }
+
+  /**
+   * Returns an Iterator that crawls {@code containerFinder} from the beginning as items are
+   * requested. If the Iterator is abandoned before the end, {@link
+   * ScrollStepStrategy#endScrolling} is not called.
+   */
+  public Iterator<UiElement> iterator(DroidDriver driver, Finder containerFinder) {
+    Logs.call(this, "iterator", driver, containerFinder);
+    return new Crawl(driver, containerFinder);
+  }
+
+  private class Crawl implements Iterator<UiElement> {
+    private final DroidDriver driver;
+    private final Finder containerFinder;
+    private final PhysicalDirection forward;
+    private final Queue<UiElement> pending = new LinkedList<UiElement>();
+    private List<String> previousKeys = Collections.emptyList();
+    private int scrolls = -1; // -1 means not started
+    private int pagesWithoutNewItem;
+    private boolean atEnd;
+    private boolean ended;
+
+    Crawl(DroidDriver driver, Finder containerFinder) {
+      this.driver = driver;
+      this.containerFinder = containerFinder;
+      this.forward = scrollStepStrategy.getDirectionConverter().toPhysicalDirection(axis,
+          LogicalDirection.FORWARD);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (pending.isEmpty() && !atEnd) {
+        loadNextPage();
+      }
+      if (pending.isEmpty()) {
+        end();
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public UiElement next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return pending.remove();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    private void loadNextPage() {
+      if (scrolls < 0) {
+        rewind();
+        scrollStepStrategy.beginScrolling(driver, containerFinder, ITEM_FINDER, forward);
+      } else if (scrolls >= maxScrolls
+          || !scrollStepStrategy.scroll(driver, containerFinder, forward)) {
+        atEnd = true;
+        return;
+      }
+      scrolls++;
+
+      List<? extends UiElement> items =
+          driver.on(containerFinder).getChildren(UiElement.VISIBLE);
+      List<String> keys = new ArrayList<String>(items.size());
+      for (UiElement item : items) {
+        keys.add(keyFunction.getKey(item));
+      }
+      int overlap = getOverlap(previousKeys, keys);
+      if (overlap == 0 && !previousKeys.isEmpty()) {
+        Logs.logfmt(Log.WARN, "Page of %s does not overlap the previous one; items may be skipped",
+            containerFinder);
+      }
+      pending.addAll(items.subList(overlap, items.size()));
+      previousKeys = keys;
+
+      // A strategy may report an effective scroll when the content did not
+      // change, e.g. when the last scroll event was missed. One page without
+      // new items is allowed in case an item is larger than a page.
+      boolean hasNewItem = overlap < items.size();
+      pagesWithoutNewItem = hasNewItem ? 0 : pagesWithoutNewItem + 1;
+      if (pagesWithoutNewItem > 1) {
+        atEnd = true;
+      }
+    }
+
+    private void rewind() {
+      PhysicalDirection backward = forward.reverse();
+      scrollStepStrategy.beginScrolling(driver, containerFinder, ITEM_FINDER, backward);
+      try {
+        for (int i = 0; i < maxScrolls; i++) {
+          if (!scrollStepStrategy.scroll(driver, containerFinder, backward)) {
+            break;
+          }
+        }
+      } finally {
+        scrollStepStrategy.endScrolling(driver, containerFinder, ITEM_FINDER, backward);
+      }
+    }
+
+    void end() {
+      if (!ended && scrolls >= 0) {
+        ended = true;
+        scrollStepStrategy.endScrolling(driver, containerFinder, ITEM_FINDER, forward);
+      }
+    }
+  }
+
+  // Returns the row index of element from its CollectionItemInfo, or -1.
+  @TargetApi(19)
+  static int getRowIndex(UiElement element) {
+    if (Build.VERSION.SDK_INT < 19 || !(element instanceof UiAutomationElement)) {
+      return -1;
+    }
+    AccessibilityNodeInfo.CollectionItemInfo info =
+        ((UiAutomationElement) element).getRawElement().getCollectionItemInfo();
+    return info == null ? -1 : info.getRowIndex();
+  }
+
+  /**
+   * Returns the number of items at the start of {@code keys} that repeat the end of
+   * {@code previousKeys}. If no run matches exactly, the first item of the run and the last item of
+   * the previous page may mismatch, because these items may be partially shown, with fewer visible
+   * elements than when fully shown.
+   */
+  private static int getOverlap(List<String> previousKeys, List<String> keys) {
+    int overlap = getOverlap(previousKeys, keys, false);
+    return overlap > 0 ? overlap : getOverlap(previousKeys, keys, true);
+  }
+
+  private static int getOverlap(List<String> previousKeys, List<String> keys,
+      boolean partialEnds) {
+    for (int length = Math.min(previousKeys.size(), keys.size()); length > 0; length--) {
+      int start = previousKeys.size() - length;
+      boolean matched = false;
+      boolean mismatched = false;
+      for (int i = 0; i < length && !mismatched; i++) {
+        if (keys.get(i).equals(previousKeys.get(start + i))) {
+          matched = true;
+        } else if (!partialEnds || (i != 0 && i != length - 1)) {
+          mismatched = true;
+        }
+      }
+      if (matched && !mismatched) {
+        return length;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("scrollStepStrategy", scrollStepStrategy)
+        .add("axis", axis).add("maxScrolls", maxScrolls).add("keyFunction", keyFunction)
+        .toString();
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.Adapter;
+import android.widget.AdapterView;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.ElementNotFoundException;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.instrumentation.ViewElement;
+import io.appium.droiddriver.scroll.Direction.Axis;
+import io.appium.droiddriver.scroll.Direction.LogicalDirection;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.uiautomation.UiAutomationElement;
+import io.appium.droiddriver.util.InstrumentationUtils;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A {@link Scroller} that remembers, per container, the current page and the page at which each
+ * item was last found. Pages are counted in scroll steps of the {@link ScrollStepStrategy} from
+ * the beginning of the container. The last step at either end is usually partial, so pages counted
+ * on the way back from the end can be up to one page off those counted from the beginning. The
+ * count is re-anchored whenever an end is reached, and an item is also looked for on the page
+ * before its remembered page.
+ * <p>
+ * A {@code scrollTo} for an item found before heads straight to its page in the right direction. An
+ * unknown item is searched from the current page forward to the end, then backward from the
+ * current page to the beginning, without looking again on the pages passed on the way back.
+ * Only the first {@code scrollTo} on a container scrolls back to the beginning, to establish the
+ * current page.
+ * </p>
+ * The memo of a container is discarded if its signature changes (the adapter or item count of an
+ * AdapterView or RecyclerView-like View, or the CollectionInfo of an accessibility node), or if its
+ * first visible child differs from when the memo was last updated, for example, because the test
+ * scrolled it by other means.
+ */
+public class MemoizingScroller implements Scroller {
+  private static class ContainerMemo {
+    final String signature;
+    int currentPage;
+    // The page at the end, or -1 if the end has not been reached
+    int endPage = -1;
+    String firstChildKey;
+    final Map<String, Integer> itemPages;
+
+    ContainerMemo(String signature, final int maxRememberedItems) {
+      this.signature = signature;
+      itemPages = new LinkedHashMap<String, Integer>(16, 0.75f, true /* accessOrder */) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+          return size() > maxRememberedItems;
+        }
+      };
+    }
+  }
+
+  private final int maxScrolls;
+  private final Axis axis;
+  private final ScrollStepStrategy scrollStepStrategy;
+  private final int maxRememberedItems;
+  private final Map<String, ContainerMemo> memos = new HashMap<String, ContainerMemo>();
+
+  /**
+   * @param maxScrolls         the maximum number of scrolls in one direction
+   * @param axis               the axis this scroller can scroll
+   * @param scrollStepStrategy the strategy to scroll one step at a time
+   * @param maxRememberedItems the number of item pages remembered per container
+   */
+  public MemoizingScroller(int maxScrolls, Axis axis, ScrollStepStrategy scrollStepStrategy,
+      int maxRememberedItems) {
+    this.maxScrolls = maxScrolls;
+    this.axis = axis;
+    this.scrollStepStrategy = scrollStepStrategy;
+    this.maxRememberedItems = maxRememberedItems;
+  }
+
+  /**
+   * Constructs with default 100 maxScrolls, vertical axis and 1000 maxRememberedItems.
+   */
+  public MemoizingScroller(ScrollStepStrategy scrollStepStrategy) {
+    this(100, Axis.VERTICAL, scrollStepStrategy, 1000);
+  }
+
+  /**
+   * Forgets what is remembered about {@code containerFinder}.
+   */
+  public void invalidate(Finder containerFinder) {
+    memos.remove(containerFinder.toString());
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder) {
+    Logs.call(this, "scrollTo", driver, containerFinder, itemFinder);
+    Finder absoluteItemFinder = By.chain(containerFinder, itemFinder);
+    ContainerMemo memo = getMemo(driver, containerFinder, itemFinder);
+    PhysicalDirection forward =
+        scrollStepStrategy.getDirectionConverter().toPhysicalDirection(axis,
+            LogicalDirection.FORWARD);
+    try {
+      UiElement item = find(driver, absoluteItemFinder);
+      if (item != null) {
+        return found(memo, itemFinder, item);
+      }
+
+      Integer knownPage = memo.itemPages.get(itemFinder.toString());
+      if (knownPage != null && knownPage != memo.currentPage) {
+        PhysicalDirection direction = knownPage > memo.currentPage ? forward : forward.reverse();
+        scrollStepStrategy.beginScrolling(driver, containerFinder, itemFinder, direction);
+        try {
+          for (int i = 0; i < maxScrolls && memo.currentPage != knownPage; i++) {
+            if (!scroll(driver, containerFinder, memo, direction)) {
+              break;
+            }
+            if (Math.abs(memo.currentPage - knownPage) <= 1) {
+              item = find(driver, absoluteItemFinder);
+              if (item != null) {
+                return found(memo, itemFinder, item);
+              }
+            }
+          }
+        } finally {
+          scrollStepStrategy.endScrolling(driver, containerFinder, itemFinder, direction);
+        }
+        // Stopped short at an end or maxScrolls; the page has not been looked at.
+        if (Math.abs(memo.currentPage - knownPage) > 1) {
+          item = find(driver, absoluteItemFinder);
+          if (item != null) {
+            return found(memo, itemFinder, item);
+          }
+        }
+      }
+
+      // Search outward: forward to the end, then backward past the start page.
+      int startPage = memo.currentPage;
+      scrollStepStrategy.beginScrolling(driver, containerFinder, itemFinder, forward);
+      try {
+        int scrolls = 0;
+        for (; scrolls < maxScrolls && scroll(driver, containerFinder, memo, forward); scrolls++) {
+          item = find(driver, absoluteItemFinder);
+          if (item != null) {
+            return found(memo, itemFinder, item);
+          }
+        }
+        checkEndReached(containerFinder, forward, scrolls);
+      } finally {
+        scrollStepStrategy.endScrolling(driver, containerFinder, itemFinder, forward);
+      }
+      PhysicalDirection backward = forward.reverse();
+      scrollStepStrategy.beginScrolling(driver, containerFinder, itemFinder, backward);
+      try {
+        for (int i = 0; i < 2 * maxScrolls
+            && scroll(driver, containerFinder, memo, backward); i++) {
+          if (memo.currentPage < startPage) {
+            item = find(driver, absoluteItemFinder);
+            if (item != null) {
+              return found(memo, itemFinder, item);
+            }
+          }
+        }
+      } finally {
+        scrollStepStrategy.endScrolling(driver, containerFinder, itemFinder, backward);
+      }
+      throw new ElementNotFoundException(absoluteItemFinder);
+    } finally {
+      memo.firstChildKey = getCurrentFirstChildKey(driver, containerFinder);
+    }
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder,
+      PhysicalDirection direction) {
+    Logs.call(this, "scrollTo", driver, containerFinder, itemFinder, direction);
+    Finder absoluteItemFinder = By.chain(containerFinder, itemFinder);
+    ContainerMemo memo = getMemo(driver, containerFinder, itemFinder);
+    scrollStepStrategy.beginScrolling(driver, containerFinder, itemFinder, direction);
+    try {
+      for (int i = 0; i <= maxScrolls; i++) {
+        UiElement item = find(driver, absoluteItemFinder);
+        if (item != null) {
+          return found(memo, itemFinder, item);
+        }
+        if (i == maxScrolls || !scroll(driver, containerFinder, memo, direction)) {
+          break;
+        }
+      }
+      throw new ElementNotFoundException(absoluteItemFinder);
+    } finally {
+      scrollStepStrategy.endScrolling(driver, containerFinder, itemFinder, direction);
+      memo.firstChildKey = getCurrentFirstChildKey(driver, containerFinder);
+    }
+  }
+
+  // Returns the memo of containerFinder, rewinding to the beginning if the
+  // current page is not known.
+  private ContainerMemo getMemo(DroidDriver driver, Finder containerFinder, Finder itemFinder) {
+    String key = containerFinder.toString();
+    UiElement container = driver.on(containerFinder);
+    String signature = getSignature(container);
+    ContainerMemo memo = memos.get(key);
+    if (memo != null && memo.signature.equals(signature)
+        && memo.firstChildKey != null
+        && memo.firstChildKey.equals(getFirstChildKey(container))) {
+      return memo;
+    }
+
+    Logs.call(this, "rewind", containerFinder, signature);
+    memo = new ContainerMemo(signature, maxRememberedItems);
+    memos.put(key, memo);
+    PhysicalDirection backward =
+        scrollStepStrategy.getDirectionConverter().toPhysicalDirection(axis,
+            LogicalDirection.BACKWARD);
+    scrollStepStrategy.beginScrolling(driver, containerFinder, itemFinder, backward);
+    try {
+      int scrolls = 0;
+      while (scrolls < maxScrolls && scroll(driver, containerFinder, memo, backward)) {
+        scrolls++;
+      }
+      checkEndReached(containerFinder, backward, scrolls);
+    } finally {
+      scrollStepStrategy.endScrolling(driver, containerFinder, itemFinder, backward);
+    }
+    memo.currentPage = 0;
+    return memo;
+  }
+
+  // Scrolls one step in a run of scrolls in direction, which is bracketed by
+  // beginScrolling and endScrolling, and counts the page. Re-anchors the count
+  // when an end is reached.
+  private boolean scroll(DroidDriver driver, Finder containerFinder, ContainerMemo memo,
+      PhysicalDirection direction) {
+    LogicalDirection logicalDirection =
+        scrollStepStrategy.getDirectionConverter().toLogicalDirection(direction);
+    if (!scrollStepStrategy.scroll(driver, containerFinder, direction)) {
+      if (logicalDirection == LogicalDirection.BACKWARD) {
+        memo.currentPage = 0;
+      } else if (memo.endPage < 0) {
+        memo.endPage = memo.currentPage;
+      } else {
+        memo.currentPage = memo.endPage;
+      }
+      return false;
+    }
+    memo.currentPage += logicalDirection == LogicalDirection.FORWARD ? 1 : -1;
+    return true;
+  }
+
+  // The strategy should report the end of the container; a run to the end
+  // that uses up maxScrolls means the pages counted may be wrong.
+  private void checkEndReached(Finder containerFinder, PhysicalDirection direction, int scrolls) {
+    if (scrolls >= maxScrolls) {
+      Logs.logfmt(Log.WARN, "%s did not detect the end of %s scrolling %s in %d scrolls",
+          scrollStepStrategy, containerFinder, direction, maxScrolls);
+    }
+  }
+
+  private static UiElement find(DroidDriver driver, Finder absoluteItemFinder) {
+    return driver.has(absoluteItemFinder) ? driver.find(absoluteItemFinder) : null;
+  }
+
+  private static UiElement found(ContainerMemo memo, Finder itemFinder, UiElement item) {
+    memo.itemPages.put(itemFinder.toString(), memo.currentPage);
+    return item;
+  }
+
+  private static String getFirstChildKey(UiElement container) {
+    List<? extends UiElement> children = container.getChildren(UiElement.VISIBLE);
+    return children.isEmpty() ? ""
+        : ListCrawler.DEFAULT_KEY_FUNCTION.getKey(children.get(0));
+  }
+
+  // Uses the current tree, which the last find or scroll step has refreshed.
+  // If it is stale, the key does not match and the next scrollTo rewinds.
+  private static String getCurrentFirstChildKey(DroidDriver driver, Finder containerFinder) {
+    try {
+      return getFirstChildKey(driver.find(containerFinder));
+    } catch (ElementNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns a string that changes when the content of {@code container} is replaced or resized.
+   */
+  private static String getSignature(UiElement container) {
+    String signature = container.getClassName() + "#" + container.getResourceId();
+    if (container instanceof ViewElement) {
+      final View view = ((ViewElement) container).getRawElement();
+      return signature + InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<String>() {
+        @Override
+        public String call() {
+          return getAdapterSignature(view);
+        }
+      });
+    }
+    if (container instanceof UiAutomationElement) {
+      return signature + getCollectionSignature(((UiAutomationElement) container).getRawElement());
+    }
+    return signature;
+  }
+
+  // Called on the main thread
+  private static String getAdapterSignature(View view) {
+    if (view instanceof AdapterView) {
+      Adapter adapter = ((AdapterView<?>) view).getAdapter();
+      return adapter == null ? ""
+          : "@" + System.identityHashCode(adapter) + "/" + adapter.getCount();
+    }
+    try {
+      // RecyclerView and the like
+      Method getAdapter = view.getClass().getMethod("getAdapter");
+      Object adapter = getAdapter.invoke(view);
+      if (adapter != null) {
+        Method getItemCount = adapter.getClass().getMethod("getItemCount");
+        return "@" + System.identityHashCode(adapter) + "/" + getItemCount.invoke(adapter);
+      }
+    } catch (Exception e) {
+      // Not adapter-based
+    }
+    return view instanceof ViewGroup ? "/" + ((ViewGroup) view).getChildCount() : "";
+  }
+
+  @TargetApi(19)
+  private static String getCollectionSignature(AccessibilityNodeInfo node) {
+    if (Build.VERSION.SDK_INT < 19) {
+      return "";
+    }
+    AccessibilityNodeInfo.CollectionInfo info = node.getCollectionInfo();
+    return info == null ? "" : "/" + info.getRowCount() + "x" + info.getColumnCount();
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("maxScrolls", maxScrolls).add("axis", axis)
+        .add("scrollStepStrategy", scrollStepStrategy).toString();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.graphics.Rect;
+import android.util.Log;
+
+import java.util.List;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.actions.PageSwipeAction;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.scroll.Direction.Axis;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * Scrolls a container by exactly one visible page minus an overlap with {@link PageSwipeAction}, so
+ * that pages are neither skipped nor scrolled twice, which minimizes the steps through a long
+ * container.
+ * <p>
+ * The content moves less than the finger because the framework consumes the touch slop before it
+ * starts scrolling. The first few swipes are calibration swipes: the displacement of a probe child
+ * is measured with {@link BaseUiElement#getCurrentBounds}, and the loss, that is, the finger
+ * distance minus the displacement, is averaged and added to later swipes. Until then the loss is
+ * assumed to be the touch slop given to the constructor.
+ * </p>
+ * Pass it to {@link DynamicSentinelStrategy}, or use it in another {@link ScrollStepStrategy} by
+ * overriding {@link ScrollStepStrategy#doScroll}, for example:
+ * <pre>
+ * int touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+ * ScrollStepStrategy strategy = new DynamicSentinelStrategy(isUpdatedStrategy,
+ *     SentinelStrategy.FIRST_CHILD_GETTER, SentinelStrategy.LAST_CHILD_GETTER,
+ *     DirectionConverter.STANDARD_CONVERTER, new PageCalibrator(0.1F, 3, touchSlop));
+ * </pre>
+ * A calibrator learns the loss of one kind of container; do not share it across containers with
+ * different scrolling behavior.
+ */
+public class PageCalibrator {
+  private final float overlapRatio;
+  private final int calibrationSwipes;
+  private int samples;
+  private float lossPx;
+
+  /**
+   * @param overlapRatio      the ratio of the visible page that remains visible after a swipe
+   * @param calibrationSwipes the number of swipes whose displacement is measured
+   * @param touchSlopPx       the touch slop of the device in pixels, for example,
+   *                          {@code ViewConfiguration.get(context).getScaledTouchSlop()}; it is the
+   *                          loss until the first calibration swipe
+   */
+  public PageCalibrator(float overlapRatio, int calibrationSwipes, int touchSlopPx) {
+    this.overlapRatio = overlapRatio;
+    this.calibrationSwipes = calibrationSwipes;
+    this.lossPx = touchSlopPx;
+  }
+
+  /**
+   * Scrolls {@code container} in {@code direction} by one visible page minus the overlap.
+   */
+  public void scrollPage(UiElement container, PhysicalDirection direction) {
+    Rect visibleBounds = container.getVisibleBounds();
+    boolean vertical = direction.axis() == Axis.VERTICAL;
+    int page = vertical ? visibleBounds.height() : visibleBounds.width();
+    int target = (int) (page * (1 - overlapRatio));
+    int fingerDistance = target + (int) lossPx;
+
+    BaseUiElement<?, ?> probe = samples < calibrationSwipes ? getProbe(container, direction) : null;
+    Rect before = probe == null ? null : probe.getCurrentBounds();
+    container.perform(new PageSwipeAction(direction, fingerDistance));
+    if (probe == null || before.isEmpty()) {
+      return;
+    }
+
+    Rect after = probe.getCurrentBounds();
+    if (after.isEmpty()) {
+      // The probe has gone; cannot tell how far the content moved.
+      return;
+    }
+    int displacement = vertical ? Math.abs(after.top - before.top)
+        : Math.abs(after.left - before.left);
+    // Capped by the container's size, or the end was reached; not a valid sample.
+    if (fingerDistance >= page - 2 || displacement == 0 || displacement > fingerDistance) {
+      return;
+    }
+    float loss = fingerDistance - displacement;
+    lossPx = (lossPx * samples + loss) / (samples + 1);
+    samples++;
+    Logs.logfmt(Log.DEBUG, "Calibrated loss: %.1f px after %d samples", lossPx, samples);
+  }
+
+  /**
+   * Returns the child at the end the content moves from, which remains visible after scrolling a
+   * page minus the overlap.
+   */
+  private static BaseUiElement<?, ?> getProbe(UiElement container, PhysicalDirection direction) {
+    List<? extends UiElement> children = container.getChildren(UiElement.VISIBLE);
+    if (children.isEmpty()) {
+      return null;
+    }
+    boolean forward = direction == PhysicalDirection.DOWN || direction == PhysicalDirection.RIGHT;
+    UiElement child = children.get(forward ? children.size() - 1 : 0);
+    return child instanceof BaseUiElement ? (BaseUiElement<?, ?>) child : null;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("overlapRatio", overlapRatio)
+        .add("calibrationSwipes", calibrationSwipes).add("samples", samples).add("lossPx", lossPx)
+        .toString();
+  }
+}
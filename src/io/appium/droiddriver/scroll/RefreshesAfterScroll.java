@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+/**
+ * Marker interface for a {@link ScrollStepStrategy} that refreshes the
+ * UiElement tree once after each effective scroll, after the scroll has
+ * settled. When {@link ScrollStepStrategy#scroll} returns true, the current
+ * tree of the driver reflects the scrolled content, so a {@link Scroller} can
+ * look for the item in it without refreshing again.
+ */
+public interface RefreshesAfterScroll {
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.graphics.Rect;
+import android.util.Log;
+import android.widget.ProgressBar;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.exceptions.ElementNotFoundException;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.util.Clock;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * Detects when a scroll has settled, so that a {@link ScrollStepStrategy} can finish its step as
+ * early as possible instead of waiting for fixed timeouts.
+ * <p>
+ * A scroll is settled when the sentinel, an element that moves with the content, has stopped
+ * moving. The sentinel's position is sampled with {@link BaseUiElement#getCurrentBounds}, which is
+ * much cheaper than refreshing the whole UiElement tree. The scroll action itself has already
+ * waited for the {@code TYPE_VIEW_SCROLLED} event or idle (see
+ * {@link io.appium.droiddriver.actions.ExpectsAccessibilityEvents}); this catches the tail of a
+ * fling.
+ * </p>
+ * Once the sentinel has stopped, the UiElement tree is refreshed. That refresh is the one a
+ * {@link RefreshesAfterScroll} strategy needs after each scroll anyway. If a loading indicator is
+ * given, it is looked for in the container in that tree, and the tree is refreshed again only while
+ * it is shown. The indicator should be specific to the container, e.g. its footer; a finder that
+ * matches elements inside rows would wait for the timeout on every step.
+ */
+public class ScrollSettleDetector {
+  /**
+   * Samples every 50 ms, considers the sentinel settled after 1 unchanged sample, and gives up
+   * after 5 seconds.
+   */
+  public static final ScrollSettleDetector DEFAULT = new ScrollSettleDetector(50L, 1, 5000L);
+  /**
+   * Like {@link #DEFAULT}, and also waits until no {@link ProgressBar} is shown in the container.
+   */
+  public static final ScrollSettleDetector PROGRESS_BAR_GONE =
+      new ScrollSettleDetector(50L, 1, 5000L, By.className(ProgressBar.class));
+
+  private final long sampleIntervalMillis;
+  private final int stableSamples;
+  private final long timeoutMillis;
+  private final Finder loadingIndicatorFinder;
+
+  /**
+   * @param sampleIntervalMillis the interval between samples of the sentinel's bounds
+   * @param stableSamples        the number of consecutive unchanged samples for the sentinel to be
+   *                             considered settled
+   * @param timeoutMillis        the maximum time to wait
+   */
+  public ScrollSettleDetector(long sampleIntervalMillis, int stableSamples, long timeoutMillis) {
+    this(sampleIntervalMillis, stableSamples, timeoutMillis, null);
+  }
+
+  /**
+   * @param sampleIntervalMillis   the interval between samples of the sentinel's bounds
+   * @param stableSamples          the number of consecutive unchanged samples for the sentinel to
+   *                               be considered settled
+   * @param timeoutMillis          the maximum time to wait
+   * @param loadingIndicatorFinder the Finder of the loading indicator, relative to the container,
+   *                               that must be gone for the scroll to be settled; null if none
+   */
+  public ScrollSettleDetector(long sampleIntervalMillis, int stableSamples, long timeoutMillis,
+      Finder loadingIndicatorFinder) {
+    this.sampleIntervalMillis = sampleIntervalMillis;
+    this.stableSamples = stableSamples;
+    this.timeoutMillis = timeoutMillis;
+    this.loadingIndicatorFinder = loadingIndicatorFinder;
+  }
+
+  /**
+   * Waits for the scroll of {@code containerFinder} to settle.
+   *
+   * @param sentinel an element that moves with the content, typically the one examined by a
+   *                 {@link SentinelStrategy} before scrolling; if null or not a
+   *                 {@link BaseUiElement}, only the loading indicator is checked
+   * @return whether the scroll settled before timeout. Either way, the UiElement tree of
+   *         {@code driver} has been refreshed when this returns.
+   */
+  public boolean waitForSettle(DroidDriver driver, Finder containerFinder, UiElement sentinel) {
+    Logs.call(this, "waitForSettle", driver, containerFinder, sentinel);
+    long deadline = Clock.get().uptimeMillis() + timeoutMillis;
+    if (sentinel instanceof BaseUiElement && !waitForStop((BaseUiElement<?, ?>) sentinel,
+        deadline)) {
+      driver.refreshUiElementTree();
+      return onTimeout(containerFinder);
+    }
+
+    if (loadingIndicatorFinder == null) {
+      driver.refreshUiElementTree();
+      return true;
+    }
+    Finder absoluteIndicatorFinder = By.chain(containerFinder, loadingIndicatorFinder);
+    while (true) {
+      driver.refreshUiElementTree();
+      if (!isPresent(driver, absoluteIndicatorFinder)) {
+        return true;
+      }
+      if (Clock.get().uptimeMillis() >= deadline) {
+        return onTimeout(containerFinder);
+      }
+      Clock.get().sleep(sampleIntervalMillis);
+    }
+  }
+
+  // Returns whether the bounds of movingElement stopped changing before deadline.
+  private boolean waitForStop(BaseUiElement<?, ?> movingElement, long deadline) {
+    Rect lastBounds = movingElement.getCurrentBounds();
+    int unchangedSamples = 0;
+    while (unchangedSamples < stableSamples) {
+      if (Clock.get().uptimeMillis() >= deadline) {
+        return false;
+      }
+      Clock.get().sleep(sampleIntervalMillis);
+      Rect bounds = movingElement.getCurrentBounds();
+      if (bounds.equals(lastBounds)) {
+        unchangedSamples++;
+      } else {
+        unchangedSamples = 0;
+        lastBounds = bounds;
+      }
+    }
+    return true;
+  }
+
+  // Looks in the current tree without refreshing it.
+  private static boolean isPresent(DroidDriver driver, Finder finder) {
+    try {
+      driver.find(finder);
+      return true;
+    } catch (ElementNotFoundException e) {
+      return false;
+    }
+  }
+
+  private boolean onTimeout(Finder containerFinder) {
+    Logs.logfmt(Log.WARN, "Scroll of %s did not settle in %d milliseconds", containerFinder,
+        timeoutMillis);
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("sampleIntervalMillis", sampleIntervalMillis)
+        .add("stableSamples", stableSamples).add("timeoutMillis", timeoutMillis)
+        .add("loadingIndicatorFinder", loadingIndicatorFinder).toString();
+  }
+}
@@ -16,15 +16,17 @@
 
 package io.appium.droiddriver.scroll;
 
+import android.annotation.TargetApi;
 import android.app.UiAutomation;
-import android.widget.ProgressBar;
 
 import io.appium.droiddriver.DroidDriver;
-import io.appium.droiddriver.finders.By;
 import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.instrumentation.InstrumentationDriver;
 import io.appium.droiddriver.scroll.Direction.Axis;
 import io.appium.droiddriver.scroll.Direction.DirectionConverter;
 import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.uiautomation.UiAutomationDriver;
+import io.appium.droiddriver.util.InstrumentationUtils;
 
 /**
  * Static utility classes and methods pertaining to {@link Scroller} instances.
@@ -32,13 +34,17 @@ import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
 public class Scrollers {
   /**
    * Augments the delegate {@link ScrollStepStrategy} - after a successful
-   * scroll, waits until ProgressBar is gone.
+   * scroll, waits until ProgressBar is gone from the container, with
+   * {@link ScrollSettleDetector#PROGRESS_BAR_GONE}. The wait gives up after 5
+   * seconds with a warning instead of throwing, and has refreshed the
+   * UiElement tree when it returns.
    */
-  public static abstract class ProgressBarScrollStepStrategy extends ForwardingScrollStepStrategy {
+  public static abstract class ProgressBarScrollStepStrategy extends ForwardingScrollStepStrategy
+      implements RefreshesAfterScroll {
     @Override
     public boolean scroll(DroidDriver driver, Finder containerFinder, PhysicalDirection direction) {
       if (super.scroll(driver, containerFinder, direction)) {
-        driver.checkGone(By.className(ProgressBar.class));
+        ScrollSettleDetector.PROGRESS_BAR_GONE.waitForSettle(driver, containerFinder, null);
         return true;
       }
       return false;
@@ -61,15 +67,22 @@ public class Scrollers {
    * {@link ScrollStepStrategy}:
    * <ul>
    * <li>If the Scroller is used with InstrumentationDriver,
-   * StaticSentinelStrategy may work and it's the simplest.</li>
+   * StaticSentinelStrategy may work and it's the simplest. A
+   * {@link ViewJumpScroller}, which {@link #newScroller(DroidDriver)} returns
+   * for InstrumentationDriver, moves the container View on the main thread
+   * instead of swiping, which is faster but does not exercise touch
+   * handling.</li>
    * <li>Otherwise, DynamicSentinelStrategy should work in all cases, including
    * the case of dynamic list, which shows more items when scrolling beyond the
    * end. On the other hand, it's complex and needs more configuration.</li>
+   * <li>If the container handles accessibility scroll actions,
+   * {@link AccessibilityActionScrollStepStrategy} scrolls without gestures,
+   * which is faster and does not depend on touch slop or fling physics.</li>
    * </ul>
    * Note if a {@link StepBasedScroller} is returned, it is constructed with
    * arguments that apply to typical cases. You may want to customize them for
-   * specific cases. For instance, {@code perScrollTimeoutMillis} can be 0L if
-   * there are no asynchronously updated views. To that extent, this method
+   * specific cases. For instance, {@code lazyLoading} should be true if items
+   * are loaded asynchronously after scrolling. To that extent, this method
    * serves as an example of how to construct {@link Scroller}s rather than
    * providing the "official" {@link Scroller}.
    */
@@ -79,9 +92,31 @@ public class Scrollers {
           Axis.VERTICAL, new AccessibilityEventScrollStepStrategy(uiAutomation, 1000L,
               DirectionConverter.STANDARD_CONVERTER), true/* startFromBeginning */);
     }
-    // TODO: A {@link Scroller} that directly jumps to the view if an
-    // InstrumentationDriver is used.
     return new StepBasedScroller(100/* maxScrolls */, 1000L/* perScrollTimeoutMillis */,
         Axis.VERTICAL, StaticSentinelStrategy.DEFAULT, true/* startFromBeginning */);
   }
+
+  /**
+   * Returns a new default Scroller for {@code driver}. For an
+   * {@link InstrumentationDriver}, it is a {@link ViewJumpScroller}, which
+   * moves the container View on the main thread, falling back to
+   * {@code newScroller(null)} if the container is not a View. For a
+   * {@link UiAutomationDriver}, it is {@link #newScroller(UiAutomation)} with
+   * the UiAutomation of the instrumentation. Otherwise it is
+   * {@code newScroller(null)}.
+   */
+  public static Scroller newScroller(DroidDriver driver) {
+    if (driver instanceof InstrumentationDriver) {
+      return new ViewJumpScroller(newScroller((UiAutomation) null));
+    }
+    if (driver instanceof UiAutomationDriver) {
+      return newScroller(getUiAutomation());
+    }
+    return newScroller((UiAutomation) null);
+  }
+
+  @TargetApi(18)
+  private static UiAutomation getUiAutomation() {
+    return InstrumentationUtils.getInstrumentation().getUiAutomation();
+  }
 }
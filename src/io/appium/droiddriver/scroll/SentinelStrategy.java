@@ -175,14 +175,49 @@ public abstract class SentinelStrategy implements ScrollStepStrategy {
   protected UiElement getSentinel(DroidDriver driver, Finder containerFinder,
       PhysicalDirection direction) {
     Logs.call(this, "getSentinel", driver, containerFinder, direction);
-    Finder sentinelFinder;
+    return driver.on(getSentinelFinder(containerFinder, direction));
+  }
+
+  /**
+   * Like {@link #getSentinel}, but looks in the current UiElement tree first,
+   * without refreshing it. Falls back to {@link #getSentinel} if the sentinel
+   * is not in the current tree.
+   */
+  protected UiElement getSentinelFromSnapshot(DroidDriver driver, Finder containerFinder,
+      PhysicalDirection direction) {
+    try {
+      return driver.find(getSentinelFinder(containerFinder, direction));
+    } catch (ElementNotFoundException e) {
+      return getSentinel(driver, containerFinder, direction);
+    }
+  }
+
+  private Finder getSentinelFinder(Finder containerFinder, PhysicalDirection direction) {
     LogicalDirection logicalDirection = directionConverter.toLogicalDirection(direction);
     if (logicalDirection == LogicalDirection.BACKWARD) {
-      sentinelFinder = By.chain(containerFinder, backwardGetter);
-    } else {
-      sentinelFinder = By.chain(containerFinder, forwardGetter);
+      return By.chain(containerFinder, backwardGetter);
     }
-    return driver.on(sentinelFinder);
+    return By.chain(containerFinder, forwardGetter);
+  }
+
+  /**
+   * Waits for the scroll to settle, then makes sure the UiElement tree has
+   * been refreshed once after that. See {@link RefreshesAfterScroll}.
+   */
+  protected void settleAndRefresh(DroidDriver driver, Finder containerFinder,
+      UiElement sentinel) {
+    // The detector refreshes the tree once the sentinel stops, settled or not.
+    getSettleDetector().waitForSettle(driver, containerFinder, sentinel);
+  }
+
+  /**
+   * Returns the {@link ScrollSettleDetector} used to wait for a scroll to
+   * settle. The default only waits for the sentinel to stop. Subclasses can
+   * override this to tune it for specific containers, e.g. to also wait for a
+   * loading indicator in the footer of a dynamic list.
+   */
+  protected ScrollSettleDetector getSettleDetector() {
+    return ScrollSettleDetector.DEFAULT;
   }
 
   @Override
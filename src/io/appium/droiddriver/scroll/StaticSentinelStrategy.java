@@ -34,7 +34,7 @@ import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
  * This does not work if a child is larger than the physical size of the
  * container.
  */
-public class StaticSentinelStrategy extends SentinelStrategy {
+public class StaticSentinelStrategy extends SentinelStrategy implements RefreshesAfterScroll {
   /**
    * Defaults to FIRST_CHILD_GETTER for backward scrolling, LAST_CHILD_GETTER
    * for forward scrolling, and the standard {@link DirectionConverter}.
@@ -49,7 +49,7 @@ public class StaticSentinelStrategy extends SentinelStrategy {
 
   @Override
   public boolean scroll(DroidDriver driver, Finder containerFinder, PhysicalDirection direction) {
-    UiElement sentinel = getSentinel(driver, containerFinder, direction);
+    UiElement sentinel = getSentinelFromSnapshot(driver, containerFinder, direction);
     UiElement container = sentinel.getParent();
     // If the last child in the logical scroll direction is fully visible, no
     // more scrolling is possible
@@ -59,6 +59,7 @@ public class StaticSentinelStrategy extends SentinelStrategy {
     }
 
     doScroll(container, direction);
+    settleAndRefresh(driver, containerFinder, sentinel);
     return true;
   }
 }
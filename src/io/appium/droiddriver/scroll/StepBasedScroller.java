@@ -37,6 +37,12 @@ import static io.appium.droiddriver.scroll.Direction.LogicalDirection.BACKWARD;
  * at a time and looks again, until we cannot scroll any more. A
  * {@link ScrollStepStrategy} is used to determine whether more scrolling is
  * possible.
+ * <p>
+ * The {@link ScrollStepStrategy} waits for the container to settle after each
+ * scroll, so the item is looked for once per step. For lists that load items
+ * asynchronously after scrolling, set {@code lazyLoading} to poll for the item
+ * up to {@code perScrollTimeoutMillis} instead.
+ * </p>
  */
 public class StepBasedScroller implements Scroller {
   private final int maxScrolls;
@@ -44,27 +50,41 @@ public class StepBasedScroller implements Scroller {
   private final Axis axis;
   private final ScrollStepStrategy scrollStepStrategy;
   private final boolean startFromBeginning;
+  private final boolean lazyLoading;
 
   /**
    * @param maxScrolls the maximum number of scrolls. It should be large enough
    *        to allow any reasonable list size
    * @param perScrollTimeoutMillis the timeout in millis that we poll for the
-   *        item after each scroll. 1000L is usually safe; if there are no
-   *        asynchronously updated views, 0L is also a reasonable value.
+   *        item after each scroll if {@code lazyLoading} is true. 1000L is
+   *        usually safe.
    * @param axis the axis this scroller can scroll
    * @param startFromBeginning if {@code true},
    *        {@link #scrollTo(DroidDriver, Finder, Finder)} starts from the
    *        beginning and scrolls forward, instead of starting from the current
    *        location and scrolling in both directions. It may not always work,
    *        but when it works, it is faster.
+   * @param lazyLoading if {@code true}, polls for the item up to
+   *        {@code perScrollTimeoutMillis} after each scroll, for lists that
+   *        load items asynchronously; otherwise looks for the item once after
+   *        each scroll settles.
    */
   public StepBasedScroller(int maxScrolls, long perScrollTimeoutMillis, Axis axis,
-      ScrollStepStrategy scrollStepStrategy, boolean startFromBeginning) {
+      ScrollStepStrategy scrollStepStrategy, boolean startFromBeginning, boolean lazyLoading) {
     this.maxScrolls = maxScrolls;
     this.perScrollTimeoutMillis = perScrollTimeoutMillis;
     this.axis = axis;
     this.scrollStepStrategy = scrollStepStrategy;
     this.startFromBeginning = startFromBeginning;
+    this.lazyLoading = lazyLoading;
+  }
+
+  /**
+   * Constructs with {@code lazyLoading} false.
+   */
+  public StepBasedScroller(int maxScrolls, long perScrollTimeoutMillis, Axis axis,
+      ScrollStepStrategy scrollStepStrategy, boolean startFromBeginning) {
+    this(maxScrolls, perScrollTimeoutMillis, axis, scrollStepStrategy, startFromBeginning, false);
   }
 
   /**
@@ -75,6 +95,14 @@ public class StepBasedScroller implements Scroller {
     this(100, 1000L, Axis.VERTICAL, scrollStepStrategy, false);
   }
 
+  /**
+   * Returns a {@link ListCrawler} that crawls with the same
+   * {@link ScrollStepStrategy}, axis and maxScrolls as this scroller.
+   */
+  public ListCrawler newCrawler() {
+    return new ListCrawler(scrollStepStrategy, axis, maxScrolls);
+  }
+
   // if scrollBack is true, scrolls back to starting location if not found, so
   // that we can start search in the other direction w/o polling on pages we
   // have tried.
@@ -87,13 +115,13 @@ public class StepBasedScroller implements Scroller {
 
     int i = 0;
     for (; i <= maxScrolls; i++) {
-      try {
-        return driver.getPoller()
-            .pollFor(driver, itemFinder, Poller.EXISTS, perScrollTimeoutMillis);
-      } catch (TimeoutException e) {
-        if (i < maxScrolls && !scrollStepStrategy.scroll(driver, containerFinder, direction)) {
-          break;
-        }
+      // The strategy may have refreshed the tree after the last scroll.
+      UiElement item = findItem(driver, itemFinder, i > 0);
+      if (item != null) {
+        return item;
+      }
+      if (i < maxScrolls && !scrollStepStrategy.scroll(driver, containerFinder, direction)) {
+        break;
       }
     }
 
@@ -115,6 +143,27 @@ public class StepBasedScroller implements Scroller {
     throw exception;
   }
 
+  // Returns the item, or null if it is not found. If afterScroll and the
+  // strategy RefreshesAfterScroll, the current tree is used without refresh.
+  private UiElement findItem(DroidDriver driver, Finder itemFinder, boolean afterScroll) {
+    if (afterScroll && !lazyLoading && scrollStepStrategy instanceof RefreshesAfterScroll) {
+      try {
+        return driver.find(itemFinder);
+      } catch (ElementNotFoundException e) {
+        return null;
+      }
+    }
+    if (lazyLoading) {
+      try {
+        return driver.getPoller()
+            .pollFor(driver, itemFinder, Poller.EXISTS, perScrollTimeoutMillis);
+      } catch (TimeoutException e) {
+        return null;
+      }
+    }
+    return driver.has(itemFinder) ? driver.find(itemFinder) : null;
+  }
+
   @Override
   public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder,
       PhysicalDirection direction) {
@@ -134,11 +183,9 @@ public class StepBasedScroller implements Scroller {
 
     if (startFromBeginning) {
       // First try w/o scrolling
-      try {
-        return driver.getPoller().pollFor(driver, By.chain(containerFinder, itemFinder),
-            Poller.EXISTS, perScrollTimeoutMillis);
-      } catch (TimeoutException unused) {
-        // fall through to scroll to find
+      UiElement item = findItem(driver, By.chain(containerFinder, itemFinder), false);
+      if (item != null) {
+        return item;
       }
 
       // Fling to beginning is not reliable; scroll to beginning
@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.scroll;
+
+import android.annotation.TargetApi;
+import android.graphics.Rect;
+import android.os.Build;
+import android.util.Log;
+import android.view.View;
+import android.widget.AdapterView;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+import io.appium.droiddriver.DroidDriver;
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.exceptions.ElementNotFoundException;
+import io.appium.droiddriver.finders.By;
+import io.appium.droiddriver.finders.Finder;
+import io.appium.droiddriver.finders.MatchFinder;
+import io.appium.droiddriver.finders.Predicates;
+import io.appium.droiddriver.instrumentation.ViewElement;
+import io.appium.droiddriver.scroll.Direction.Axis;
+import io.appium.droiddriver.scroll.Direction.PhysicalDirection;
+import io.appium.droiddriver.util.InstrumentationUtils;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+
+/**
+ * A {@link Scroller} for {@link io.appium.droiddriver.instrumentation.InstrumentationDriver} that
+ * moves the container View directly on the main thread instead of injecting swipes. Each step is
+ * one main thread call followed by a layout pass, instead of a synthesized gesture and its fling.
+ * <ul>
+ * <li>{@link AdapterView}s (ListView, GridView, etc) are paged with {@link
+ * AdapterView#setSelection}, keeping the last visible item of the previous page.</li>
+ * <li>Views with a public {@code scrollToPosition(int)} method, e.g. RecyclerView, are rewound with
+ * it and paged with {@link View#scrollBy}.</li>
+ * <li>Other Views, e.g. ScrollView, are paged with {@link View#scrollBy}.</li>
+ * </ul>
+ * When the desired item is found, it is brought fully on screen with {@link
+ * View#requestRectangleOnScreen}. If the container is not a View, for example, if the driver is a
+ * {@link io.appium.droiddriver.uiautomation.UiAutomationDriver}, the fallback Scroller is used.
+ * <p>
+ * If the item is already in the View hierarchy but not visible, for example, a child of a
+ * ScrollView below the fold, {@code scrollTo} brings it on screen in one call; this requires the
+ * itemFinder to be a {@link MatchFinder}, because finders skip elements that are not visible.
+ * Otherwise, for example, for an item of an adapter that has no View yet, {@code scrollTo} does
+ * not know where the item is, so it goes page by page, looking for the item after each page. If
+ * the adapter position of the item is known, {@link #scrollToPosition} gets there in one call.
+ * </p>
+ * <p>
+ * Jumping does not send the touch events a real user would, so it does not exercise the touch
+ * handling of the container. Use a {@link StepBasedScroller} if that matters.
+ * </p>
+ */
+public class ViewJumpScroller implements Scroller {
+  // The fraction of the container size a page of View#scrollBy moves, so that
+  // consecutive pages overlap.
+  private static final float PAGE_FRACTION = 0.9f;
+
+  private final int maxScrolls;
+  private final long perScrollTimeoutMillis;
+  private final Axis axis;
+  private final Scroller fallback;
+
+  /**
+   * @param maxScrolls             the maximum number of pages to jump. It should be large enough
+   *                               to allow any reasonable list size
+   * @param perScrollTimeoutMillis the timeout in millis that we wait for the container to settle
+   *                               after each jump
+   * @param axis                   the axis this scroller can scroll
+   * @param fallback               the Scroller to use if the container is not a View
+   */
+  public ViewJumpScroller(int maxScrolls, long perScrollTimeoutMillis, Axis axis,
+      Scroller fallback) {
+    this.maxScrolls = maxScrolls;
+    this.perScrollTimeoutMillis = perScrollTimeoutMillis;
+    this.axis = axis;
+    this.fallback = fallback;
+  }
+
+  /**
+   * Constructs with default 500 maxScrolls, 1 second for perScrollTimeoutMillis, vertical axis.
+   */
+  public ViewJumpScroller(Scroller fallback) {
+    this(500, 1000L, Axis.VERTICAL, fallback);
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder) {
+    Logs.call(this, "scrollTo", driver, containerFinder, itemFinder);
+    Finder absoluteItemFinder = By.chain(containerFinder, itemFinder);
+    if (driver.has(absoluteItemFinder)) {
+      return bringOnScreen(driver, absoluteItemFinder);
+    }
+    UiElement containerElement = driver.on(containerFinder);
+    View container = getContainerView(containerElement);
+    if (container == null) {
+      return fallback.scrollTo(driver, containerFinder, itemFinder);
+    }
+    if (itemFinder instanceof MatchFinder) {
+      ViewElement hidden = findHidden(containerElement, (MatchFinder) itemFinder);
+      if (hidden != null && requestOnScreen(hidden.getRawElement())
+          && driver.has(absoluteItemFinder)) {
+        return driver.find(absoluteItemFinder);
+      }
+    }
+
+    PhysicalDirection[] directions = axis.getPhysicalDirections();
+    PhysicalDirection backward = directions[0];
+    if (!rewind(container)) {
+      for (int i = 0; i < maxScrolls; i++) {
+        if (!jump(container, backward)) {
+          break;
+        }
+      }
+    }
+    return search(driver, containerFinder, absoluteItemFinder, container, backward.reverse());
+  }
+
+  @Override
+  public UiElement scrollTo(DroidDriver driver, Finder containerFinder, Finder itemFinder,
+      PhysicalDirection direction) {
+    Logs.call(this, "scrollTo", driver, containerFinder, itemFinder, direction);
+    View container = getContainerView(driver.on(containerFinder));
+    if (container == null) {
+      return fallback.scrollTo(driver, containerFinder, itemFinder, direction);
+    }
+    return search(driver, containerFinder, By.chain(containerFinder, itemFinder), container,
+        direction);
+  }
+
+  /**
+   * Jumps directly to the item at {@code position} of the adapter of {@code containerFinder}, if
+   * the container is an {@link AdapterView} or has a public {@code scrollToPosition(int)} method,
+   * e.g. RecyclerView. This takes one layout pass regardless of the distance.
+   *
+   * @return whether the container supports jumping to a position
+   */
+  public boolean scrollToPosition(DroidDriver driver, Finder containerFinder, final int position) {
+    Logs.call(this, "scrollToPosition", driver, containerFinder, position);
+    final View container = getContainerView(driver.on(containerFinder));
+    if (container == null) {
+      return false;
+    }
+    boolean supported = InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return setPosition(container, position);
+      }
+    });
+    if (supported) {
+      InstrumentationUtils.tryWaitForIdleSync(perScrollTimeoutMillis);
+    }
+    return supported;
+  }
+
+  private UiElement search(DroidDriver driver, Finder containerFinder, Finder absoluteItemFinder,
+      View container, PhysicalDirection direction) {
+    for (int i = 0; i <= maxScrolls; i++) {
+      if (driver.has(absoluteItemFinder)) {
+        return bringOnScreen(driver, absoluteItemFinder);
+      }
+      if (i == maxScrolls || !jump(container, direction)) {
+        break;
+      }
+    }
+    throw new ElementNotFoundException(absoluteItemFinder);
+  }
+
+  private static View getContainerView(UiElement container) {
+    return container instanceof ViewElement ? ((ViewElement) container).getRawElement() : null;
+  }
+
+  // Returns a descendant of element that matches finder and is not visible.
+  private static ViewElement findHidden(UiElement element, MatchFinder finder) {
+    for (UiElement child : element.getChildren(Predicates.any())) {
+      if (!child.isVisible() && child instanceof ViewElement && finder.matches(child)) {
+        return (ViewElement) child;
+      }
+      ViewElement hidden = findHidden(child, finder);
+      if (hidden != null) {
+        return hidden;
+      }
+    }
+    return null;
+  }
+
+  // Moves the container to its beginning if it is position-based.
+  private boolean rewind(final View container) {
+    boolean rewound = InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return setPosition(container, 0);
+      }
+    });
+    if (rewound) {
+      InstrumentationUtils.tryWaitForIdleSync(perScrollTimeoutMillis);
+    }
+    return rewound;
+  }
+
+  // Moves the container a page in direction; returns false if it cannot move.
+  private boolean jump(final View container, final PhysicalDirection direction) {
+    boolean moved = InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        if (container instanceof AdapterView) {
+          return jumpAdapterView((AdapterView<?>) container, direction);
+        }
+        return jumpView(container, direction);
+      }
+    });
+    if (moved) {
+      InstrumentationUtils.tryWaitForIdleSync(perScrollTimeoutMillis);
+    }
+    return moved;
+  }
+
+  private UiElement bringOnScreen(DroidDriver driver, Finder absoluteItemFinder) {
+    UiElement item = driver.find(absoluteItemFinder);
+    if (!(item instanceof ViewElement)) {
+      return item;
+    }
+    if (!requestOnScreen(((ViewElement) item).getRawElement())) {
+      return item;
+    }
+    return driver.find(absoluteItemFinder);
+  }
+
+  // Asks the ancestors of view to scroll it fully on screen; returns whether they moved.
+  private boolean requestOnScreen(final View view) {
+    boolean moved = InstrumentationUtils.runOnMainSyncWithTimeout(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return view.requestRectangleOnScreen(new Rect(0, 0, view.getWidth(), view.getHeight()),
+            true /* immediate */);
+      }
+    });
+    if (moved) {
+      InstrumentationUtils.tryWaitForIdleSync(perScrollTimeoutMillis);
+    }
+    return moved;
+  }
+
+  // Called on the main thread
+  private static boolean jumpAdapterView(AdapterView<?> adapterView, PhysicalDirection direction) {
+    int first = adapterView.getFirstVisiblePosition();
+    int last = adapterView.getLastVisiblePosition();
+    int target;
+    if (isForward(direction)) {
+      if (last >= adapterView.getCount() - 1) {
+        return false;
+      }
+      // Keep the last visible item, which may be partially shown
+      target = Math.max(last, first + 1);
+    } else {
+      if (first <= 0) {
+        return false;
+      }
+      target = Math.max(0, Math.min(first - (last - first), first - 1));
+    }
+    adapterView.setSelection(target);
+    return true;
+  }
+
+  // Called on the main thread
+  private static boolean jumpView(View view, PhysicalDirection direction) {
+    int sign = isForward(direction) ? 1 : -1;
+    boolean vertical = direction.axis() == Axis.VERTICAL;
+    if (!canScroll(view, vertical, sign)) {
+      return false;
+    }
+    int size = vertical ? view.getHeight() - view.getPaddingTop() - view.getPaddingBottom()
+        : view.getWidth() - view.getPaddingLeft() - view.getPaddingRight();
+    int distance = sign * Math.max(1, (int) (size * PAGE_FRACTION));
+    int scrollXBefore = view.getScrollX();
+    int scrollYBefore = view.getScrollY();
+    view.scrollBy(vertical ? 0 : distance, vertical ? distance : 0);
+    // Views that do not track their own scroll position, e.g. RecyclerView,
+    // are trusted by canScroll.
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH
+        || view.getScrollX() != scrollXBefore || view.getScrollY() != scrollYBefore;
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  private static boolean canScroll(View view, boolean vertical, int sign) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+      return true;
+    }
+    return vertical ? view.canScrollVertically(sign) : view.canScrollHorizontally(sign);
+  }
+
+  // Called on the main thread
+  private static boolean setPosition(View container, int position) {
+    if (container instanceof AdapterView) {
+      ((AdapterView<?>) container).setSelection(position);
+      return true;
+    }
+    try {
+      Method scrollToPosition = container.getClass().getMethod("scrollToPosition", int.class);
+      scrollToPosition.invoke(container, position);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    } catch (Exception e) {
+      Logs.log(Log.WARN, e, "Failed to call scrollToPosition on " + container);
+      return false;
+    }
+  }
+
+  // Down and right move the view port toward larger scroll offsets and
+  // adapter positions.
+  private static boolean isForward(PhysicalDirection direction) {
+    return direction == PhysicalDirection.DOWN || direction == PhysicalDirection.RIGHT;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("maxScrolls", maxScrolls)
+        .add("perScrollTimeoutMillis", perScrollTimeoutMillis).add("axis", axis)
+        .add("fallback", fallback).toString();
+  }
+}
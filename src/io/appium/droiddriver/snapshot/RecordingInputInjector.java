@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.util.Log;
+import android.view.InputEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * An {@link InputInjector} that records and logs events instead of injecting
+ * them.
+ */
+public class RecordingInputInjector implements InputInjector {
+  private final List<InputEvent> events = new ArrayList<InputEvent>();
+
+  @Override
+  public synchronized boolean injectInputEvent(InputEvent event) {
+    Logs.log(Log.DEBUG, "Recorded " + event);
+    events.add(event);
+    return true;
+  }
+
+  /**
+   * Returns the events recorded so far.
+   */
+  public synchronized List<InputEvent> getEvents() {
+    return Collections.unmodifiableList(new ArrayList<InputEvent>(events));
+  }
+
+  public synchronized void clear() {
+    events.clear();
+  }
+}
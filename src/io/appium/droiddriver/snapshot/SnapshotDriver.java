@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.appium.droiddriver.UiDevice;
+import io.appium.droiddriver.actions.Action;
+import io.appium.droiddriver.base.BaseDroidDriver;
+import io.appium.droiddriver.exceptions.DroidDriverException;
+import io.appium.droiddriver.util.Logs;
+import io.appium.droiddriver.util.Strings;
+import io.appium.droiddriver.validators.Validator;
+
+/**
+ * A DroidDriver backed by recorded snapshots instead of a device. It does not
+ * depend on a running app, so finders, pollers, scrollers and validators can
+ * be exercised and benchmarked on a plain JVM, and slow finds from failure
+ * dumps can be reproduced exactly.
+ * <p>
+ * Each {@link #refreshUiElementTree} advances to the next snapshot in the
+ * recorded sequence; after the last one, it stays there. Actions are not
+ * injected; they are logged and can be retrieved with
+ * {@link #getPerformedActions}. Events injected directly are recorded by
+ * {@link #getInjector}.
+ * </p>
+ */
+public class SnapshotDriver extends BaseDroidDriver<SnapshotElement, SnapshotElement> {
+  /**
+   * An action that was performed on a SnapshotElement.
+   */
+  public static final class PerformedAction {
+    private final SnapshotElement element;
+    private final Action action;
+    private final int snapshotIndex;
+
+    private PerformedAction(SnapshotElement element, Action action, int snapshotIndex) {
+      this.element = element;
+      this.action = action;
+      this.snapshotIndex = snapshotIndex;
+    }
+
+    public SnapshotElement getElement() {
+      return element;
+    }
+
+    public Action getAction() {
+      return action;
+    }
+
+    /**
+     * Returns the index of the snapshot that was current when the action was
+     * performed.
+     */
+    public int getSnapshotIndex() {
+      return snapshotIndex;
+    }
+
+    @Override
+    public String toString() {
+      return Strings.toStringHelper(this).addValue(action).add("on", element)
+          .add("snapshotIndex", snapshotIndex).toString();
+    }
+  }
+
+  private final List<SnapshotElement> snapshots;
+  private final RecordingInputInjector injector = new RecordingInputInjector();
+  private final SnapshotUiDevice uiDevice = new SnapshotUiDevice(this);
+  private final List<PerformedAction> performedActions = new ArrayList<PerformedAction>();
+  private int currentIndex = -1;
+
+  /**
+   * @param snapshots the roots of the recorded snapshots, in order; each tree
+   *        can be loaded in only one SnapshotDriver at a time
+   */
+  public SnapshotDriver(List<SnapshotElement> snapshots) {
+    if (snapshots.isEmpty()) {
+      throw new DroidDriverException("At least one snapshot is required");
+    }
+    this.snapshots = Collections.unmodifiableList(new ArrayList<SnapshotElement>(snapshots));
+    for (SnapshotElement root : this.snapshots) {
+      if (root.getParent() != null) {
+        throw new DroidDriverException("Not the root of a snapshot: " + root);
+      }
+      root.setDriver(this);
+    }
+  }
+
+  /**
+   * Loads snapshots from files. A file whose path ends with
+   * {@link Snapshots#FILE_SUFFIX} is read as a binary snapshot; other files are
+   * read as XML dumps.
+   */
+  public static SnapshotDriver load(String... paths) throws IOException {
+    List<SnapshotElement> snapshots = new ArrayList<SnapshotElement>(paths.length);
+    for (String path : paths) {
+      snapshots.add(path.endsWith(Snapshots.FILE_SUFFIX) ? Snapshots.read(path)
+          : Snapshots.fromXml(path));
+    }
+    return new SnapshotDriver(snapshots);
+  }
+
+  @Override
+  protected SnapshotElement newRootElement() {
+    if (currentIndex < snapshots.size() - 1) {
+      currentIndex++;
+    }
+    Logs.logfmt(Log.VERBOSE, "Using snapshot %d of %d", currentIndex, snapshots.size());
+    return snapshots.get(currentIndex);
+  }
+
+  @Override
+  protected SnapshotElement newUiElement(SnapshotElement rawElement, SnapshotElement parent) {
+    // A SnapshotElement is its own raw element.
+    return rawElement;
+  }
+
+  /**
+   * Returns the index of the current snapshot, or -1 if the tree has not been
+   * refreshed yet.
+   */
+  public int getCurrentIndex() {
+    return currentIndex;
+  }
+
+  /**
+   * Makes the next {@link #refreshUiElementTree} go to the snapshot at
+   * {@code index}.
+   */
+  public void rewind(int index) {
+    if (index < 0 || index >= snapshots.size()) {
+      throw new DroidDriverException(String.format("index %d is out of range [0, %d)", index,
+          snapshots.size()));
+    }
+    currentIndex = index - 1;
+  }
+
+  public List<SnapshotElement> getSnapshots() {
+    return snapshots;
+  }
+
+  /**
+   * Sets {@code validator} on all elements of all snapshots.
+   */
+  public void setValidator(Validator validator) {
+    for (SnapshotElement root : snapshots) {
+      setValidator(root, validator);
+    }
+  }
+
+  private static void setValidator(SnapshotElement element, Validator validator) {
+    element.setValidator(validator);
+    for (SnapshotElement child : element.getChildren(null)) {
+      setValidator(child, validator);
+    }
+  }
+
+  // Called by SnapshotElement
+  boolean onPerform(SnapshotElement element, Action action) {
+    Logs.log(Log.INFO, "Not performing " + action + " on " + element);
+    synchronized (performedActions) {
+      performedActions.add(new PerformedAction(element, action, currentIndex));
+    }
+    return true;
+  }
+
+  /**
+   * Returns the actions performed so far, in order.
+   */
+  public List<PerformedAction> getPerformedActions() {
+    synchronized (performedActions) {
+      return Collections.unmodifiableList(new ArrayList<PerformedAction>(performedActions));
+    }
+  }
+
+  public void clearPerformedActions() {
+    synchronized (performedActions) {
+      performedActions.clear();
+    }
+    injector.clear();
+  }
+
+  @Override
+  public RecordingInputInjector getInjector() {
+    return injector;
+  }
+
+  @Override
+  public UiDevice getUiDevice() {
+    return uiDevice;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("snapshots", snapshots.size())
+        .add("currentIndex", currentIndex).toString();
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.FutureTask;
+
+import io.appium.droiddriver.actions.Action;
+import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.exceptions.DroidDriverException;
+import io.appium.droiddriver.finders.Attribute;
+
+/**
+ * A read-only UiElement restored from a snapshot, for example, one read by
+ * {@link SnapshotReader} or parsed from an XML dump by {@link Snapshots}. It
+ * can be queried with Finders and Predicates like a live UiElement. Actions
+ * cannot be performed on it unless its tree is loaded in a
+ * {@link SnapshotDriver}, which logs actions instead of injecting events.
+ */
+public class SnapshotElement extends BaseUiElement<SnapshotElement, SnapshotElement> {
+  /**
+   * Builds a tree of SnapshotElements. Boolean attributes default to false and
+   * bounds default to empty.
+   */
+  public static class Builder {
+    private final Map<Attribute, Object> attributes = new EnumMap<Attribute, Object>(
+        Attribute.class);
+    private boolean visible = true;
+    private Rect visibleBounds;
+    private final List<Builder> children = new ArrayList<Builder>();
+
+    public Builder() {
+      for (Attribute attribute : SnapshotFormat.FLAG_ATTRIBUTES) {
+        attributes.put(attribute, false);
+      }
+      attributes.put(Attribute.BOUNDS, new Rect());
+    }
+
+    /**
+     * Sets {@code attribute} to {@code value}, which must be of the type the
+     * getter of {@code attribute} returns. A null value removes a string
+     * attribute.
+     */
+    public Builder set(Attribute attribute, Object value) {
+      if (value == null) {
+        attributes.remove(attribute);
+      } else {
+        attributes.put(attribute, value);
+      }
+      return this;
+    }
+
+    public Builder setBounds(Rect bounds) {
+      return set(Attribute.BOUNDS, new Rect(bounds));
+    }
+
+    public Builder setSelection(int start, int end) {
+      attributes.put(Attribute.SELECTION_START, start);
+      attributes.put(Attribute.SELECTION_END, end);
+      return this;
+    }
+
+    public Builder setVisible(boolean visible) {
+      this.visible = visible;
+      return this;
+    }
+
+    /**
+     * Sets the visible bounds; null means the same as bounds.
+     */
+    public Builder setVisibleBounds(Rect visibleBounds) {
+      this.visibleBounds = visibleBounds == null ? null : new Rect(visibleBounds);
+      return this;
+    }
+
+    public Builder addChild(Builder child) {
+      children.add(child);
+      return this;
+    }
+
+    /**
+     * Builds the tree rooted at this Builder.
+     */
+    public SnapshotElement build() {
+      return new SnapshotElement(this, null);
+    }
+  }
+
+  private final Map<Attribute, Object> attributes;
+  private final boolean visible;
+  private final Rect visibleBounds;
+  private final SnapshotElement parent;
+  private final List<SnapshotElement> children;
+  // Only set on the root
+  private SnapshotDriver driver;
+
+  private SnapshotElement(Builder builder, SnapshotElement parent) {
+    this.attributes = Collections.unmodifiableMap(
+        new EnumMap<Attribute, Object>(builder.attributes));
+    this.visible = builder.visible;
+    this.visibleBounds = builder.visibleBounds == null ? getBounds() : builder.visibleBounds;
+    this.parent = parent;
+    List<SnapshotElement> children = new ArrayList<SnapshotElement>(builder.children.size());
+    for (Builder child : builder.children) {
+      children.add(new SnapshotElement(child, this));
+    }
+    this.children = Collections.unmodifiableList(children);
+  }
+
+  @Override
+  public Rect getVisibleBounds() {
+    return visibleBounds;
+  }
+
+  @Override
+  public boolean isVisible() {
+    return visible;
+  }
+
+  @Override
+  public SnapshotElement getParent() {
+    return parent;
+  }
+
+  @Override
+  protected List<SnapshotElement> getChildren() {
+    return children;
+  }
+
+  @Override
+  protected Map<Attribute, Object> getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public SnapshotElement getRawElement() {
+    return this;
+  }
+
+  void setDriver(SnapshotDriver driver) {
+    this.driver = driver;
+  }
+
+  /**
+   * Returns the SnapshotDriver the tree of this element is loaded in.
+   *
+   * @throws DroidDriverException if the tree is not loaded in a SnapshotDriver
+   */
+  private SnapshotDriver getDriver() {
+    SnapshotElement root = this;
+    while (root.parent != null) {
+      root = root.parent;
+    }
+    if (root.driver == null) {
+      throw new DroidDriverException(
+          "SnapshotElement is read-only unless loaded in a SnapshotDriver");
+    }
+    return root.driver;
+  }
+
+  /**
+   * Logs {@code action} in the SnapshotDriver instead of performing it.
+   */
+  @Override
+  protected boolean doPerform(Action action) {
+    return getDriver().onPerform(this, action);
+  }
+
+  // Nothing to wait for
+  @Override
+  protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis) {
+    futureTask.run();
+  }
+
+  @Override
+  public InputInjector getInjector() {
+    return getDriver().getInjector();
+  }
+}
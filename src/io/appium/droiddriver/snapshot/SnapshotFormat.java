@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.appium.droiddriver.finders.Attribute;
+
+/**
+ * Constants and encoding helpers of the binary snapshot format.
+ * <p>
+ * A snapshot starts with a header: the magic bytes "D2SN", a version byte and a
+ * flags byte. If {@link #FLAG_GZIP} is set, the rest is gzip-compressed. The
+ * body is the tree in pre-order. Each node consists of:
+ * <ol>
+ * <li>class, package, resource-id, text and content-desc as string references
+ * (see below)</li>
+ * <li>a varint bitset of {@link #FLAG_ATTRIBUTES} and the {@code NODE_*}
+ * bits</li>
+ * <li>bounds as zigzag varints: left and top relative to the parent's, then
+ * width and height</li>
+ * <li>if {@link #NODE_HAS_SELECTION}, selection start and end as zigzag
+ * varints</li>
+ * <li>if {@link #NODE_HAS_VISIBLE_BOUNDS}, visible bounds encoded like bounds,
+ * relative to the node's own bounds</li>
+ * <li>the number of children as a varint, followed by the children</li>
+ * </ol>
+ * A string reference is a varint: 0 for null, 1 for a new string that follows
+ * as a varint UTF-8 length and bytes and is appended to the string table, or
+ * n &gt;= 2 for the (n-2)th string in the table.
+ */
+final class SnapshotFormat {
+  static final byte[] MAGIC = {'D', '2', 'S', 'N'};
+  static final int VERSION = 1;
+  static final int FLAG_GZIP = 1;
+
+  /** The boolean attributes, in the order of their bits in the node bitset. */
+  static final Attribute[] FLAG_ATTRIBUTES = {Attribute.CHECKABLE, Attribute.CHECKED,
+      Attribute.CLICKABLE, Attribute.ENABLED, Attribute.FOCUSABLE, Attribute.FOCUSED,
+      Attribute.SCROLLABLE, Attribute.LONG_CLICKABLE, Attribute.PASSWORD, Attribute.SELECTED};
+  static final int NODE_VISIBLE = 1 << FLAG_ATTRIBUTES.length;
+  static final int NODE_HAS_SELECTION = NODE_VISIBLE << 1;
+  static final int NODE_HAS_VISIBLE_BOUNDS = NODE_HAS_SELECTION << 1;
+
+  /** The string attributes, in the order they are written for each node. */
+  static final Attribute[] STRING_ATTRIBUTES = {Attribute.CLASS, Attribute.PACKAGE,
+      Attribute.RESOURCE_ID, Attribute.TEXT, Attribute.CONTENT_DESC};
+
+  static final int STRING_NULL = 0;
+  static final int STRING_NEW = 1;
+  static final int STRING_TABLE_BASE = 2;
+
+  static void writeVarint(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  static void writeZigzag(OutputStream out, int value) throws IOException {
+    writeVarint(out, (value << 1) ^ (value >> 31));
+  }
+
+  static int readVarint(InputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = readByte(in);
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  static int readZigzag(InputStream in) throws IOException {
+    int value = readVarint(in);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  static int readByte(InputStream in) throws IOException {
+    int b = in.read();
+    if (b < 0) {
+      throw new EOFException("Truncated snapshot");
+    }
+    return b;
+  }
+
+  private SnapshotFormat() {}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.graphics.Rect;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static io.appium.droiddriver.snapshot.SnapshotFormat.readByte;
+import static io.appium.droiddriver.snapshot.SnapshotFormat.readVarint;
+import static io.appium.droiddriver.snapshot.SnapshotFormat.readZigzag;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter} and rebuilds the tree as
+ * {@link SnapshotElement}s.
+ */
+public class SnapshotReader {
+  private final InputStream in;
+  private final List<String> stringTable = new ArrayList<String>();
+
+  /**
+   * @param in the stream to read from; it is not closed by this reader
+   */
+  public SnapshotReader(InputStream in) {
+    this.in = in;
+  }
+
+  /**
+   * Reads the tree. A SnapshotReader reads one tree.
+   *
+   * @return the root of the tree
+   * @throws IOException if the stream is not a snapshot of a supported version,
+   *         or is malformed
+   */
+  public SnapshotElement read() throws IOException {
+    for (byte b : SnapshotFormat.MAGIC) {
+      if (readByte(in) != b) {
+        throw new IOException("Not a DroidDriver snapshot");
+      }
+    }
+    int version = readByte(in);
+    if (version > SnapshotFormat.VERSION) {
+      throw new IOException("Unsupported snapshot version " + version);
+    }
+    int flags = readByte(in);
+    InputStream body = new BufferedInputStream((flags & SnapshotFormat.FLAG_GZIP) != 0
+        ? new GZIPInputStream(in) : in);
+    return readNode(body, new Rect()).build();
+  }
+
+  private SnapshotElement.Builder readNode(InputStream body, Rect parentBounds)
+      throws IOException {
+    SnapshotElement.Builder builder = new SnapshotElement.Builder();
+    for (int i = 0; i < SnapshotFormat.STRING_ATTRIBUTES.length; i++) {
+      builder.set(SnapshotFormat.STRING_ATTRIBUTES[i], readString(body));
+    }
+
+    int flags = readVarint(body);
+    for (int i = 0; i < SnapshotFormat.FLAG_ATTRIBUTES.length; i++) {
+      builder.set(SnapshotFormat.FLAG_ATTRIBUTES[i], (flags & (1 << i)) != 0);
+    }
+    builder.setVisible((flags & SnapshotFormat.NODE_VISIBLE) != 0);
+
+    Rect bounds = readRect(body, parentBounds);
+    builder.setBounds(bounds);
+    if ((flags & SnapshotFormat.NODE_HAS_SELECTION) != 0) {
+      int start = readZigzag(body);
+      builder.setSelection(start, readZigzag(body));
+    }
+    if ((flags & SnapshotFormat.NODE_HAS_VISIBLE_BOUNDS) != 0) {
+      builder.setVisibleBounds(readRect(body, bounds));
+    }
+
+    int childCount = readVarint(body);
+    for (int i = 0; i < childCount; i++) {
+      builder.addChild(readNode(body, bounds));
+    }
+    return builder;
+  }
+
+  private static Rect readRect(InputStream body, Rect origin) throws IOException {
+    int left = origin.left + readZigzag(body);
+    int top = origin.top + readZigzag(body);
+    int width = readZigzag(body);
+    return new Rect(left, top, left + width, top + readZigzag(body));
+  }
+
+  private String readString(InputStream body) throws IOException {
+    int ref = readVarint(body);
+    if (ref == SnapshotFormat.STRING_NULL) {
+      return null;
+    }
+    if (ref != SnapshotFormat.STRING_NEW) {
+      int index = ref - SnapshotFormat.STRING_TABLE_BASE;
+      if (index < 0 || index >= stringTable.size()) {
+        throw new IOException("Invalid string reference " + ref);
+      }
+      return stringTable.get(index);
+    }
+    int length = readVarint(body);
+    if (length < 0) {
+      throw new IOException("Invalid string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    int offset = 0;
+    while (offset < length) {
+      int read = body.read(bytes, offset, length - offset);
+      if (read < 0) {
+        throw new IOException("Truncated snapshot");
+      }
+      offset += read;
+    }
+    String value = new String(bytes, "UTF-8");
+    stringTable.add(value);
+    return value;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.graphics.Bitmap.CompressFormat;
+import android.util.Log;
+
+import io.appium.droiddriver.UiDevice;
+import io.appium.droiddriver.actions.Action;
+import io.appium.droiddriver.actions.SingleKeyAction;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * A {@link UiDevice} for {@link SnapshotDriver}. Actions are logged by the
+ * driver; screenshots are not available.
+ */
+class SnapshotUiDevice implements UiDevice {
+  private final SnapshotDriver driver;
+  private boolean screenOn = true;
+
+  SnapshotUiDevice(SnapshotDriver driver) {
+    this.driver = driver;
+  }
+
+  @Override
+  public boolean isScreenOn() {
+    return screenOn;
+  }
+
+  @Override
+  public void wakeUp() {
+    Logs.call(this, "wakeUp");
+    screenOn = true;
+  }
+
+  @Override
+  public void sleep() {
+    Logs.call(this, "sleep");
+    screenOn = false;
+  }
+
+  @Override
+  public void pressBack() {
+    perform(SingleKeyAction.BACK);
+  }
+
+  @Override
+  public boolean perform(Action action) {
+    return driver.getRootElement().perform(action);
+  }
+
+  @Override
+  public boolean takeScreenshot(String path) {
+    return takeScreenshot(path, CompressFormat.PNG, 0);
+  }
+
+  @Override
+  public boolean takeScreenshot(String path, CompressFormat format, int quality) {
+    Logs.log(Log.INFO, "Screenshots are not available from snapshots; not writing " + path);
+    return false;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.graphics.Rect;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.finders.Predicates;
+
+import static io.appium.droiddriver.snapshot.SnapshotFormat.writeVarint;
+import static io.appium.droiddriver.snapshot.SnapshotFormat.writeZigzag;
+
+/**
+ * Writes a UiElement tree in the binary snapshot format described in
+ * {@link SnapshotFormat}, including invisible UiElements. Each string is
+ * written once; later occurrences refer to the first one.
+ */
+public class SnapshotWriter {
+  private final OutputStream out;
+  private final boolean gzip;
+  private final Map<String, Integer> stringTable = new HashMap<String, Integer>();
+
+  /**
+   * @param out the stream to write to; it is not closed by this writer
+   * @param gzip whether to compress the body
+   */
+  public SnapshotWriter(OutputStream out, boolean gzip) {
+    this.out = out;
+    this.gzip = gzip;
+  }
+
+  /**
+   * Writes the tree rooted at {@code root}. A SnapshotWriter writes one tree.
+   */
+  public void write(UiElement root) throws IOException {
+    out.write(SnapshotFormat.MAGIC);
+    out.write(SnapshotFormat.VERSION);
+    out.write(gzip ? SnapshotFormat.FLAG_GZIP : 0);
+
+    GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out) : null;
+    OutputStream body = new BufferedOutputStream(gzip ? gzipOut : out);
+    writeNode(body, root, new Rect());
+    body.flush();
+    if (gzipOut != null) {
+      gzipOut.finish();
+    }
+    out.flush();
+  }
+
+  private void writeNode(OutputStream body, UiElement uiElement, Rect parentBounds)
+      throws IOException {
+    for (int i = 0; i < SnapshotFormat.STRING_ATTRIBUTES.length; i++) {
+      writeString(body, uiElement.<String>get(SnapshotFormat.STRING_ATTRIBUTES[i]));
+    }
+
+    int flags = 0;
+    for (int i = 0; i < SnapshotFormat.FLAG_ATTRIBUTES.length; i++) {
+      if (Boolean.TRUE.equals(uiElement.get(SnapshotFormat.FLAG_ATTRIBUTES[i]))) {
+        flags |= 1 << i;
+      }
+    }
+    boolean hasSelection = uiElement instanceof BaseUiElement
+        && ((BaseUiElement<?, ?>) uiElement).hasSelection();
+    Rect bounds = uiElement.getBounds();
+    Rect visibleBounds = uiElement.getVisibleBounds();
+    boolean hasVisibleBounds = visibleBounds != null && !visibleBounds.equals(bounds);
+    if (uiElement.isVisible()) {
+      flags |= SnapshotFormat.NODE_VISIBLE;
+    }
+    if (hasSelection) {
+      flags |= SnapshotFormat.NODE_HAS_SELECTION;
+    }
+    if (hasVisibleBounds) {
+      flags |= SnapshotFormat.NODE_HAS_VISIBLE_BOUNDS;
+    }
+    writeVarint(body, flags);
+
+    writeRect(body, bounds, parentBounds);
+    if (hasSelection) {
+      BaseUiElement<?, ?> baseUiElement = (BaseUiElement<?, ?>) uiElement;
+      writeZigzag(body, baseUiElement.getSelectionStart());
+      writeZigzag(body, baseUiElement.getSelectionEnd());
+    }
+    if (hasVisibleBounds) {
+      writeRect(body, visibleBounds, bounds);
+    }
+
+    List<? extends UiElement> children = uiElement.getChildren(Predicates.any());
+    writeVarint(body, children.size());
+    for (UiElement child : children) {
+      writeNode(body, child, bounds);
+    }
+  }
+
+  private static void writeRect(OutputStream body, Rect rect, Rect origin) throws IOException {
+    writeZigzag(body, rect.left - origin.left);
+    writeZigzag(body, rect.top - origin.top);
+    writeZigzag(body, rect.right - rect.left);
+    writeZigzag(body, rect.bottom - rect.top);
+  }
+
+  private void writeString(OutputStream body, String value) throws IOException {
+    if (value == null) {
+      writeVarint(body, SnapshotFormat.STRING_NULL);
+      return;
+    }
+    Integer index = stringTable.get(value);
+    if (index != null) {
+      writeVarint(body, SnapshotFormat.STRING_TABLE_BASE + index);
+      return;
+    }
+    stringTable.put(value, stringTable.size());
+    byte[] bytes = value.getBytes("UTF-8");
+    writeVarint(body, SnapshotFormat.STRING_NEW);
+    writeVarint(body, bytes.length);
+    body.write(bytes);
+  }
+}
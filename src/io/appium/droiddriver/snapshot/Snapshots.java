@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.snapshot;
+
+import android.graphics.Rect;
+import android.util.Log;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import io.appium.droiddriver.UiElement;
+import io.appium.droiddriver.base.BaseUiElement;
+import io.appium.droiddriver.finders.Attribute;
+import io.appium.droiddriver.finders.ByXPath;
+import io.appium.droiddriver.util.FileUtils;
+import io.appium.droiddriver.util.Logs;
+
+/**
+ * Static helper methods for snapshots of UiElement trees.
+ * <p>
+ * A snapshot is much smaller and faster to write and read than an XML dump.
+ * {@link io.appium.droiddriver.DroidDriver#dumpUiElementTree} writes a
+ * snapshot if the path ends with {@link #FILE_SUFFIX}. Snapshots can be
+ * converted to and from XML dumps with {@link #toXml} and {@link #fromXml}.
+ */
+public class Snapshots {
+  /** The suffix of snapshot files. */
+  public static final String FILE_SUFFIX = ".d2s";
+
+  private static final Pattern BOUNDS_PATTERN =
+      Pattern.compile("\\[(-?\\d+),(-?\\d+)\\]\\[(-?\\d+),(-?\\d+)\\]");
+  // The root tag of uiautomatorviewer dumps
+  private static final String UIAUTOMATOR_ROOT_TAG = "hierarchy";
+
+  /**
+   * Writes a gzip-compressed snapshot of the tree rooted at {@code root} to
+   * {@code path}, including invisible UiElements.
+   *
+   * @return whether the dumping succeeded
+   */
+  public static boolean dump(String path, UiElement root) {
+    BufferedOutputStream out = null;
+    try {
+      out = FileUtils.open(path);
+      new SnapshotWriter(out, true).write(root);
+      Logs.log(Log.INFO, "Wrote snapshot to " + path);
+    } catch (Exception e) {
+      Logs.log(Log.ERROR, e, "Failed to write snapshot");
+      return false;
+    } finally {
+      closeQuietly(out);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the snapshot at {@code path}.
+   */
+  public static SnapshotElement read(String path) throws IOException {
+    InputStream in = new FileInputStream(path);
+    try {
+      return new SnapshotReader(in).read();
+    } finally {
+      closeQuietly(in);
+    }
+  }
+
+  /**
+   * Writes the tree rooted at {@code root} as an XML dump to {@code path}. See
+   * {@link ByXPath#dumpDom} for the format.
+   *
+   * @return whether the dumping succeeded
+   */
+  public static boolean toXml(String path, SnapshotElement root) {
+    return ByXPath.dumpDom(path, root);
+  }
+
+  /**
+   * Reads the XML dump at {@code path}, in either DroidDriver or
+   * uiautomatorviewer format.
+   */
+  public static SnapshotElement fromXml(String path) throws IOException {
+    InputStream in = new FileInputStream(path);
+    try {
+      return fromXml(in);
+    } finally {
+      closeQuietly(in);
+    }
+  }
+
+  /**
+   * Reads an XML dump in either DroidDriver or uiautomatorviewer format from
+   * {@code in}, which is not closed.
+   */
+  public static SnapshotElement fromXml(InputStream in) throws IOException {
+    XmlDumpHandler handler = new XmlDumpHandler();
+    try {
+      SAXParserFactory.newInstance().newSAXParser().parse(new BufferedInputStream(in), handler);
+    } catch (SAXException e) {
+      throw new IOException("Malformed XML dump: " + e.getMessage());
+    } catch (ParserConfigurationException e) {
+      throw new IOException("Cannot parse XML dump: " + e.getMessage());
+    }
+    if (handler.root == null) {
+      throw new IOException("Empty XML dump");
+    }
+    return handler.root.build();
+  }
+
+  /**
+   * Builds SnapshotElements from SAX events, without loading a DOM.
+   */
+  private static class XmlDumpHandler extends DefaultHandler {
+    private final LinkedList<SnapshotElement.Builder> stack =
+        new LinkedList<SnapshotElement.Builder>();
+    private boolean uiAutomatorFormat;
+    SnapshotElement.Builder root;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes)
+        throws SAXException {
+      if (stack.isEmpty() && root == null && UIAUTOMATOR_ROOT_TAG.equals(qName)) {
+        uiAutomatorFormat = true;
+        return;
+      }
+      SnapshotElement.Builder builder = new SnapshotElement.Builder();
+      for (Attribute attribute : SnapshotFormat.STRING_ATTRIBUTES) {
+        String value = attributes.getValue(attribute.getName());
+        // uiautomatorviewer dumps have empty values for null strings
+        if (uiAutomatorFormat && "".equals(value)) {
+          value = null;
+        }
+        builder.set(attribute, value);
+      }
+      for (Attribute attribute : SnapshotFormat.FLAG_ATTRIBUTES) {
+        builder.set(attribute, parseBoolean(attributes.getValue(attribute.getName())));
+      }
+      String selectionStart = attributes.getValue(Attribute.SELECTION_START.getName());
+      String selectionEnd = attributes.getValue(Attribute.SELECTION_END.getName());
+      if (selectionStart != null && selectionEnd != null) {
+        try {
+          builder.setSelection(Integer.parseInt(selectionStart), Integer.parseInt(selectionEnd));
+        } catch (NumberFormatException e) {
+          throw new SAXException("Invalid selection in " + qName);
+        }
+      }
+      builder.setBounds(parseBounds(attributes.getValue(Attribute.BOUNDS.getName())));
+      builder.setVisible(
+          !parseBoolean(attributes.getValue(BaseUiElement.ATTRIB_NOT_VISIBLE)));
+      String visibleBounds = attributes.getValue(BaseUiElement.ATTRIB_VISIBLE_BOUNDS);
+      if (visibleBounds != null) {
+        builder.setVisibleBounds(parseBounds(visibleBounds));
+      }
+
+      if (stack.isEmpty()) {
+        if (root != null) {
+          throw new SAXException("More than one root in XML dump");
+        }
+        root = builder;
+      } else {
+        stack.getFirst().addChild(builder);
+      }
+      stack.addFirst(builder);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      if (!stack.isEmpty()) {
+        stack.removeFirst();
+      }
+    }
+
+    // DroidDriver dumps have empty values for true and omit false;
+    // uiautomatorviewer dumps have "true" or "false".
+    private static boolean parseBoolean(String value) {
+      return value != null && !"false".equals(value);
+    }
+
+    private static Rect parseBounds(String value) throws SAXException {
+      if (value == null) {
+        return new Rect();
+      }
+      Matcher matcher = BOUNDS_PATTERN.matcher(value);
+      if (!matcher.matches()) {
+        throw new SAXException("Invalid bounds " + value);
+      }
+      return new Rect(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+          Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4)));
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        // ignore
+      }
+    }
+  }
+
+  private Snapshots() {}
+}
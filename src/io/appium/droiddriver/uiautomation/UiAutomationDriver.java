@@ -20,7 +20,6 @@ import android.annotation.TargetApi;
 import android.app.Instrumentation;
 import android.app.UiAutomation;
 import android.content.Context;
-import android.os.SystemClock;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityManager;
 import android.view.accessibility.AccessibilityNodeInfo;
@@ -29,6 +28,7 @@ import io.appium.droiddriver.actions.InputInjector;
 import io.appium.droiddriver.base.BaseDroidDriver;
 import io.appium.droiddriver.exceptions.TimeoutException;
 import io.appium.droiddriver.uiautomation.UiAutomationContext.UiAutomationCallable;
+import io.appium.droiddriver.util.Clock;
 import io.appium.droiddriver.util.Logs;
 
 /**
@@ -93,7 +93,7 @@ public class UiAutomationDriver extends BaseDroidDriver<AccessibilityNodeInfo, U
       }
     });
 
-    long end = SystemClock.uptimeMillis() + timeoutMillis;
+    long end = Clock.get().uptimeMillis() + timeoutMillis;
     while (true) {
       AccessibilityNodeInfo root =
           context.callUiAutomation(new UiAutomationCallable<AccessibilityNodeInfo>() {
@@ -105,13 +105,13 @@ public class UiAutomationDriver extends BaseDroidDriver<AccessibilityNodeInfo, U
       if (root != null) {
         return root;
       }
-      long remainingMillis = end - SystemClock.uptimeMillis();
+      long remainingMillis = end - Clock.get().uptimeMillis();
       if (remainingMillis < 0) {
         throw new TimeoutException(
             String.format("Timed out after %d milliseconds waiting for root AccessibilityNodeInfo",
                 timeoutMillis));
       }
-      SystemClock.sleep(Math.min(250, remainingMillis));
+      Clock.get().sleep(Math.min(250, remainingMillis));
     }
   }
 
@@ -20,6 +20,7 @@ import android.annotation.TargetApi;
 import android.app.UiAutomation;
 import android.app.UiAutomation.AccessibilityEventFilter;
 import android.graphics.Rect;
+import android.os.Build;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 
@@ -31,10 +32,13 @@ import java.util.Map;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeoutException;
 
+import io.appium.droiddriver.actions.Action;
+import io.appium.droiddriver.actions.ExpectsAccessibilityEvents;
 import io.appium.droiddriver.actions.InputInjector;
 import io.appium.droiddriver.base.BaseUiElement;
 import io.appium.droiddriver.finders.Attribute;
 import io.appium.droiddriver.uiautomation.UiAutomationContext.UiAutomationCallable;
+import io.appium.droiddriver.util.ActionStats;
 import io.appium.droiddriver.util.Preconditions;
 
 import static io.appium.droiddriver.util.Strings.charSequenceToString;
@@ -172,6 +176,20 @@ public class UiAutomationElement extends BaseUiElement<AccessibilityNodeInfo, Ui
     return attributes;
   }
 
+  /**
+   * Refreshes a copy of the node to get its bounds, without rebuilding the
+   * tree. Returns an empty Rect if the node is gone.
+   */
+  @Override
+  public Rect getCurrentBounds() {
+    AccessibilityNodeInfo copy = AccessibilityNodeInfo.obtain(node);
+    try {
+      return copy.refresh() ? getBounds(copy) : new Rect();
+    } finally {
+      copy.recycle();
+    }
+  }
+
   @Override
   public InputInjector getInjector() {
     return context.getDriver().getInjector();
@@ -182,14 +200,34 @@ public class UiAutomationElement extends BaseUiElement<AccessibilityNodeInfo, Ui
    * {@code AccessibilityEvent} queue.
    */
   @Override
-  protected void doPerformAndWait(final FutureTask<Boolean> futureTask, final long timeoutMillis) {
+  protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis) {
+    doPerformAndWait(futureTask, timeoutMillis, ANY_EVENT_FILTER);
+  }
+
+  /**
+   * If {@code action} implements {@link ExpectsAccessibilityEvents}, waits for
+   * an event of the expected types from the window of this element, whose
+   * source overlaps this element. Otherwise waits for any event.
+   */
+  @Override
+  protected void doPerformAndWait(FutureTask<Boolean> futureTask, long timeoutMillis,
+      Action action) {
+    int eventTypes = action instanceof ExpectsAccessibilityEvents
+        ? ((ExpectsAccessibilityEvents) action).getExpectedEventTypes() : 0;
+    doPerformAndWait(futureTask, timeoutMillis,
+        eventTypes == 0 ? ANY_EVENT_FILTER : new TargetedEventFilter(eventTypes));
+  }
+
+  private void doPerformAndWait(final FutureTask<Boolean> futureTask, final long timeoutMillis,
+      final AccessibilityEventFilter filter) {
     context.callUiAutomation(new UiAutomationCallable<Void>() {
 
       @Override
       public Void call(UiAutomation uiAutomation) {
         try {
-          uiAutomation.executeAndWaitForEvent(futureTask, ANY_EVENT_FILTER, timeoutMillis);
+          uiAutomation.executeAndWaitForEvent(futureTask, filter, timeoutMillis);
         } catch (TimeoutException e) {
+          ActionStats.onSyncTimeout();
           // This is for sync'ing with Accessibility API on best-effort because
           // it is not reliable.
           // Exception is ignored here. Tests will fail anyways if this is
@@ -208,6 +246,44 @@ public class UiAutomationElement extends BaseUiElement<AccessibilityNodeInfo, Ui
     });
   }
 
+  /**
+   * Accepts events of the expected types from the window of this element, whose
+   * source is this element, or overlaps it (e.g. the clickable ancestor of this
+   * element). If the source is not available, the window is deemed enough.
+   */
+  private class TargetedEventFilter implements AccessibilityEventFilter {
+    private final int eventTypes;
+
+    TargetedEventFilter(int eventTypes) {
+      this.eventTypes = eventTypes;
+    }
+
+    @Override
+    public boolean accept(AccessibilityEvent event) {
+      if ((event.getEventType() & eventTypes) == 0 || !isFromSameWindow(event)) {
+        return false;
+      }
+      AccessibilityNodeInfo source = event.getSource();
+      if (source == null) {
+        return true;
+      }
+      try {
+        return node.equals(source) || Rect.intersects(getBounds(), getBounds(source));
+      } finally {
+        source.recycle();
+      }
+    }
+
+    @TargetApi(21)
+    private boolean isFromSameWindow(AccessibilityEvent event) {
+      if (Build.VERSION.SDK_INT >= 21) {
+        return event.getWindowId() == node.getWindowId();
+      }
+      CharSequence packageName = event.getPackageName();
+      return packageName == null || packageName.toString().equals(getPackageName());
+    }
+  }
+
   @Override
   public AccessibilityNodeInfo getRawElement() {
     return node;
@@ -20,11 +20,11 @@ import android.annotation.TargetApi;
 import android.app.UiAutomation;
 import android.view.InputEvent;
 
-import io.appium.droiddriver.actions.InputInjector;
+import io.appium.droiddriver.actions.AsyncInputInjector;
 import io.appium.droiddriver.uiautomation.UiAutomationContext.UiAutomationCallable;
 
 @TargetApi(18)
-public class UiAutomationInputInjector implements InputInjector {
+public class UiAutomationInputInjector implements AsyncInputInjector {
   private final UiAutomationContext context;
 
   public UiAutomationInputInjector(UiAutomationContext context) {
@@ -40,4 +40,14 @@ public class UiAutomationInputInjector implements InputInjector {
       }
     });
   }
+
+  @Override
+  public boolean injectInputEventAsync(final InputEvent event) {
+    return context.callUiAutomation(new UiAutomationCallable<Boolean>() {
+      @Override
+      public Boolean call(UiAutomation uiAutomation) {
+        return uiAutomation.injectInputEvent(event, false /* sync */);
+      }
+    });
+  }
 }
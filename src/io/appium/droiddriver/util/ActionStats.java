@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collects timing of {@link io.appium.droiddriver.UiElement#perform}, broken down into phases:
+ * <ul>
+ * <li>validate: running the {@link io.appium.droiddriver.validators.Validator};</li>
+ * <li>inject: the action itself, mostly injecting events;</li>
+ * <li>sync: waiting for the UI to settle after the action, e.g. for idle or an
+ * AccessibilityEvent.</li>
+ * </ul>
+ * Also counts injected events and timeouts of the sync phase. Stats are aggregated per action class,
+ * both overall and per test. {@link io.appium.droiddriver.helpers.BaseDroidDriverTest} sets the
+ * current test and writes the stats of a failed test in JSON next to its other troubleshooting
+ * files.
+ * <p>
+ * Disabled by default. Enable it with {@link #setEnabled} or the am instrument option
+ * "dd.actionStats=true". When disabled, the overhead is reading a volatile field.
+ * </p>
+ */
+public class ActionStats {
+  /**
+   * Aggregated stats of an action class.
+   */
+  public static class Stats {
+    private int count;
+    private long validateNanos;
+    private long injectNanos;
+    private long syncNanos;
+    private int eventCount;
+    private int timeoutCount;
+
+    private Stats() {}
+
+    private Stats(Stats other) {
+      count = other.count;
+      validateNanos = other.validateNanos;
+      injectNanos = other.injectNanos;
+      syncNanos = other.syncNanos;
+      eventCount = other.eventCount;
+      timeoutCount = other.timeoutCount;
+    }
+
+    private void add(Recording recording) {
+      count++;
+      validateNanos += recording.validateNanos;
+      injectNanos += recording.injectNanos;
+      syncNanos += recording.syncNanos;
+      eventCount += recording.eventCount;
+      timeoutCount += recording.timeoutCount;
+    }
+
+    /** Returns the number of times actions of this class were performed. */
+    public int getCount() {
+      return count;
+    }
+
+    public long getValidateNanos() {
+      return validateNanos;
+    }
+
+    public long getInjectNanos() {
+      return injectNanos;
+    }
+
+    public long getSyncNanos() {
+      return syncNanos;
+    }
+
+    /** Returns the number of input events injected. */
+    public int getEventCount() {
+      return eventCount;
+    }
+
+    /** Returns the number of times the sync phase timed out. */
+    public int getTimeoutCount() {
+      return timeoutCount;
+    }
+
+    private void appendJson(StringBuilder sb) {
+      sb.append("{\"count\":").append(count)
+          .append(",\"validateMillis\":").append(toMillis(validateNanos))
+          .append(",\"injectMillis\":").append(toMillis(injectNanos))
+          .append(",\"syncMillis\":").append(toMillis(syncNanos))
+          .append(",\"eventCount\":").append(eventCount)
+          .append(",\"timeoutCount\":").append(timeoutCount).append('}');
+    }
+
+    @Override
+    public String toString() {
+      return Strings.toStringHelper(this).add("count", count)
+          .add("validateMillis", toMillis(validateNanos)).add("injectMillis", toMillis(injectNanos))
+          .add("syncMillis", toMillis(syncNanos)).add("eventCount", eventCount)
+          .add("timeoutCount", timeoutCount).toString();
+    }
+  }
+
+  /**
+   * Timing of one {@code perform} call. The phases must be marked in order on the thread that
+   * called {@link #begin}.
+   */
+  public static class Recording {
+    private final String actionName;
+    private final String testName;
+    // The enclosing recording on the same thread, e.g. an action that performs other actions
+    private final Recording enclosing;
+    private long phaseStartNanos;
+    private long validateNanos;
+    private long injectNanos;
+    private long syncNanos;
+    private int eventCount;
+    private int timeoutCount;
+
+    private Recording(String actionName, String testName, Recording enclosing) {
+      this.actionName = actionName;
+      this.testName = testName;
+      this.enclosing = enclosing;
+      phaseStartNanos = System.nanoTime();
+    }
+
+    /** Marks the end of the validate phase. */
+    public void endValidate() {
+      long now = System.nanoTime();
+      validateNanos += now - phaseStartNanos;
+      phaseStartNanos = now;
+    }
+
+    /**
+     * Adds {@code nanos} to the inject phase. The inject phase may run inside the sync phase, e.g.
+     * in {@code UiAutomation.executeAndWaitForEvent}; it is subtracted from the sync phase.
+     */
+    public void addInject(long nanos) {
+      injectNanos += nanos;
+    }
+
+    /** Marks the end of the sync phase and records this recording. */
+    public void end() {
+      syncNanos = Math.max(0, System.nanoTime() - phaseStartNanos - injectNanos);
+      if (CURRENT.get() == this) {
+        CURRENT.set(enclosing);
+      }
+      record(this);
+    }
+  }
+
+  private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<Recording>();
+  private static volatile boolean enabled;
+  private static volatile String currentTest;
+  // Guarded by ActionStats.class
+  private static final Map<String, Stats> statsByAction = new LinkedHashMap<String, Stats>();
+  private static final Map<String, Map<String, Stats>> statsByTest =
+      new LinkedHashMap<String, Map<String, Stats>>();
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    ActionStats.enabled = enabled;
+  }
+
+  /**
+   * Sets the name of the current test, under which stats are aggregated in addition to the overall
+   * stats. {@code null} means no test.
+   */
+  public static void setCurrentTest(String testName) {
+    currentTest = testName;
+  }
+
+  /**
+   * Starts recording an action on the current thread.
+   *
+   * @return the Recording, or null if disabled
+   */
+  public static Recording begin(Object action) {
+    if (!enabled) {
+      return null;
+    }
+    Recording recording = new Recording(action.getClass().getName(), currentTest, CURRENT.get());
+    CURRENT.set(recording);
+    return recording;
+  }
+
+  /**
+   * Counts {@code count} injected events toward the action being recorded on the current thread.
+   */
+  static void onEventsInjected(int count) {
+    if (!enabled) {
+      return;
+    }
+    Recording recording = CURRENT.get();
+    if (recording != null) {
+      recording.eventCount += count;
+    }
+  }
+
+  /**
+   * Counts a timeout of the sync phase toward the action being recorded on the current thread.
+   */
+  public static void onSyncTimeout() {
+    if (!enabled) {
+      return;
+    }
+    Recording recording = CURRENT.get();
+    if (recording != null) {
+      recording.timeoutCount++;
+    }
+  }
+
+  private static synchronized void record(Recording recording) {
+    getOrCreate(statsByAction, recording.actionName).add(recording);
+    if (recording.testName != null) {
+      Map<String, Stats> testStats = statsByTest.get(recording.testName);
+      if (testStats == null) {
+        testStats = new LinkedHashMap<String, Stats>();
+        statsByTest.put(recording.testName, testStats);
+      }
+      getOrCreate(testStats, recording.actionName).add(recording);
+    }
+  }
+
+  private static Stats getOrCreate(Map<String, Stats> map, String actionName) {
+    Stats stats = map.get(actionName);
+    if (stats == null) {
+      stats = new Stats();
+      map.put(actionName, stats);
+    }
+    return stats;
+  }
+
+  /**
+   * Returns a copy of the overall stats, keyed by action class name.
+   */
+  public static synchronized Map<String, Stats> getStats() {
+    return copy(statsByAction);
+  }
+
+  /**
+   * Returns a copy of the stats of {@code testName}, keyed by action class name.
+   */
+  public static synchronized Map<String, Stats> getStats(String testName) {
+    Map<String, Stats> testStats = statsByTest.get(testName);
+    return testStats == null ? Collections.<String, Stats>emptyMap() : copy(testStats);
+  }
+
+  private static Map<String, Stats> copy(Map<String, Stats> map) {
+    Map<String, Stats> copy = new LinkedHashMap<String, Stats>();
+    for (Map.Entry<String, Stats> entry : map.entrySet()) {
+      copy.put(entry.getKey(), new Stats(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(copy);
+  }
+
+  public static synchronized void reset() {
+    statsByAction.clear();
+    statsByTest.clear();
+  }
+
+  /**
+   * Returns the stats of {@code testName} and the overall stats in JSON.
+   */
+  public static synchronized String toJson(String testName) {
+    StringBuilder sb = new StringBuilder("{\"test\":");
+    appendJsonString(sb, testName);
+    sb.append(",\"testStats\":");
+    Map<String, Stats> testStats = statsByTest.get(testName);
+    appendJson(sb, testStats == null ? Collections.<String, Stats>emptyMap() : testStats);
+    sb.append(",\"overallStats\":");
+    appendJson(sb, statsByAction);
+    return sb.append('}').toString();
+  }
+
+  /**
+   * Writes {@link #toJson} to the file at {@code path}.
+   *
+   * @return whether the file was written successfully
+   */
+  public static boolean writeJson(String path, String testName) {
+    Writer writer = null;
+    try {
+      writer = new OutputStreamWriter(FileUtils.open(path), "UTF-8");
+      writer.write(toJson(testName));
+      return true;
+    } catch (IOException e) {
+      Logs.log(Log.WARN, e, "Failed to write " + path);
+      return false;
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  private static void appendJson(StringBuilder sb, Map<String, Stats> statsMap) {
+    sb.append('{');
+    boolean first = true;
+    for (Map.Entry<String, Stats> entry : statsMap.entrySet()) {
+      if (!first) {
+        sb.append(',');
+      }
+      first = false;
+      appendJsonString(sb, entry.getKey());
+      sb.append(':');
+      entry.getValue().appendJson(sb);
+    }
+    sb.append('}');
+  }
+
+  private static void appendJsonString(StringBuilder sb, String value) {
+    if (value == null) {
+      sb.append("null");
+      return;
+    }
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        sb.append(String.format(Locale.US, "\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    sb.append('"');
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format(Locale.US, "%.3f", nanos / 1e6);
+  }
+
+  private ActionStats() {}
+}
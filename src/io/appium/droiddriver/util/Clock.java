@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import android.os.SystemClock;
+
+/**
+ * The clock that DroidDriver reads the time from and sleeps with when it waits
+ * or synthesizes events: pollers, drivers waiting for an activity or window,
+ * scroll settle detection, actions and gestures all go through {@link #get}.
+ * It defaults to {@link #SYSTEM}. Tests
+ * can {@link #set} a {@link VirtualClock} to exercise timeout and interval
+ * logic, or to drive a simulated UI, without real waiting.
+ * <p>
+ * Waits that synchronize with other threads or the main looper, for example,
+ * in {@link InstrumentationUtils} and {@link MainLooperIdleTracker}, always
+ * use the system clock. A virtual clock must not be set when events are
+ * injected into a real device, whose event times are in system uptime.
+ * </p>
+ */
+public abstract class Clock {
+  /**
+   * The system clock, based on {@link SystemClock#uptimeMillis}.
+   */
+  public static final Clock SYSTEM = new Clock() {
+    @Override
+    public long uptimeMillis() {
+      return SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void sleep(long millis) {
+      SystemClock.sleep(millis);
+    }
+
+    @Override
+    public String toString() {
+      return "Clock.SYSTEM";
+    }
+  };
+
+  private static volatile Clock clock = SYSTEM;
+
+  /**
+   * Returns the clock in use.
+   */
+  public static Clock get() {
+    return clock;
+  }
+
+  /**
+   * Sets the clock in use. Null restores {@link #SYSTEM}.
+   */
+  public static void set(Clock clock) {
+    Clock.clock = clock == null ? SYSTEM : clock;
+  }
+
+  /**
+   * Returns the milliseconds since an arbitrary origin, like
+   * {@link SystemClock#uptimeMillis}.
+   */
+  public abstract long uptimeMillis();
+
+  /**
+   * Waits {@code millis} milliseconds, ignoring interrupts like
+   * {@link SystemClock#sleep}.
+   */
+  public abstract void sleep(long millis);
+}
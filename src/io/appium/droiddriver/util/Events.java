@@ -18,13 +18,15 @@ package io.appium.droiddriver.util;
 
 import android.annotation.TargetApi;
 import android.os.Build;
-import android.os.SystemClock;
 import android.util.Log;
 import android.view.InputDevice;
 import android.view.InputEvent;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 
+import java.util.List;
+
+import io.appium.droiddriver.actions.AsyncInputInjector;
 import io.appium.droiddriver.actions.InputInjector;
 import io.appium.droiddriver.exceptions.ActionException;
 
@@ -33,12 +35,12 @@ import io.appium.droiddriver.exceptions.ActionException;
  */
 public class Events {
   /**
-   * @return a touch down event at the specified coordinates
+   * @return a touch event at the specified coordinates
    */
   @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
-  private static MotionEvent newTouchDownEvent(int x, int y) {
-    long downTime = SystemClock.uptimeMillis();
-    MotionEvent event = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 1);
+  static MotionEvent newTouchEvent(long downTime, long eventTime, int action, int x,
+      int y) {
+    MotionEvent event = MotionEvent.obtain(downTime, eventTime, action, x, y, 1);
     // TODO: Fix this if 'source' is required on devices older than HONEYCOMB_MR1.
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
       event.setSource(InputDevice.SOURCE_TOUCHSCREEN);
@@ -46,34 +48,8 @@ public class Events {
     return event;
   }
 
-  /**
-   * @return a touch up event at the specified coordinates
-   */
-  @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
-  private static MotionEvent newTouchUpEvent(long downTime, int x, int y) {
-    long eventTime = SystemClock.uptimeMillis();
-    MotionEvent event = MotionEvent.obtain(downTime, eventTime, MotionEvent.ACTION_UP, x, y, 1);
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
-      event.setSource(InputDevice.SOURCE_TOUCHSCREEN);
-    }
-    return event;
-  }
-
-  /**
-   * @return a touch move event at the specified coordinates
-   */
-  @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
-  private static MotionEvent newTouchMoveEvent(long downTime, int x, int y) {
-    long eventTime = SystemClock.uptimeMillis();
-    MotionEvent event = MotionEvent.obtain(downTime, eventTime, MotionEvent.ACTION_MOVE, x, y, 1);
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
-      event.setSource(InputDevice.SOURCE_TOUCHSCREEN);
-    }
-    return event;
-  }
-
   @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
-  private static KeyEvent newKeyEvent(long downTime, long eventTime, int action, int keyCode,
+  static KeyEvent newKeyEvent(long downTime, long eventTime, int action, int keyCode,
       int metaState) {
     KeyEvent event = new KeyEvent(downTime, eventTime, action, keyCode, 0 /* repeat */, metaState);
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
@@ -94,6 +70,7 @@ public class Events {
 
   private static void injectEvent(int priority, InputInjector injector, InputEvent event) {
     Logs.call(priority, injector, "injectInputEvent", event);
+    ActionStats.onEventsInjected(1);
     try {
       if (!injector.injectInputEvent(event)) {
         throw new ActionException("Failed to inject " + event);
@@ -105,23 +82,103 @@ public class Events {
     }
   }
 
+  /**
+   * Injects {@code events} as a whole, e.g. a gesture or text. If {@code injector} is an {@link
+   * AsyncInputInjector}, all events but the last are queued without waiting for them to be
+   * dispatched, and the last one is injected synchronously as a barrier; otherwise each event is
+   * injected synchronously. {@code events} are recycled and should not be used after.
+   * <p>
+   * If a touch gesture fails in the middle, an {@code ACTION_CANCEL} is injected on best-effort
+   * basis so that the pointer is not left down.
+   * </p>
+   *
+   * @throws ActionException if injection failed, identifying the event that failed. Note an event
+   *                         that is queued asynchronously may be rejected later when it is
+   *                         dispatched; that is reported as failure of the barrier.
+   */
+  public static void injectEvents(InputInjector injector, List<? extends InputEvent> events) {
+    Logs.call(injector, "injectInputEvents", events.size() + " events");
+    AsyncInputInjector asyncInjector =
+        injector instanceof AsyncInputInjector ? (AsyncInputInjector) injector : null;
+    int size = events.size();
+    ActionStats.onEventsInjected(size);
+    try {
+      for (int i = 0; i < size; i++) {
+        InputEvent event = events.get(i);
+        Logs.call(Log.VERBOSE, injector, "injectInputEvent", event);
+        boolean barrier = i == size - 1;
+        boolean injected = asyncInjector != null && !barrier
+            ? asyncInjector.injectInputEventAsync(event) : injector.injectInputEvent(event);
+        if (!injected) {
+          String message = String.format("Failed to inject event %d of %d: %s", i + 1, size, event);
+          if (asyncInjector != null && barrier && size > 1) {
+            message += "; an earlier event queued asynchronously may have been rejected";
+          }
+          cancelTouchGesture(injector, event);
+          throw new ActionException(message);
+        }
+      }
+    } finally {
+      for (InputEvent event : events) {
+        if (event instanceof MotionEvent) {
+          ((MotionEvent) event).recycle();
+        }
+      }
+    }
+  }
+
+  private static void cancelTouchGesture(InputInjector injector, InputEvent failedEvent) {
+    if (!(failedEvent instanceof MotionEvent)
+        || ((MotionEvent) failedEvent).getActionMasked() == MotionEvent.ACTION_DOWN) {
+      return;
+    }
+    MotionEvent cancelEvent = MotionEvent.obtain((MotionEvent) failedEvent);
+    cancelEvent.setAction(MotionEvent.ACTION_CANCEL);
+    try {
+      injector.injectInputEvent(cancelEvent);
+    } catch (Throwable e) {
+      Logs.log(Log.WARN, e, "Failed to cancel touch gesture");
+    } finally {
+      cancelEvent.recycle();
+    }
+  }
+
   public static long touchDown(InputInjector injector, int x, int y) {
-    MotionEvent downEvent = newTouchDownEvent(x, y);
-    long downTime = downEvent.getDownTime();
-    injectEvent(injector, downEvent);
+    long downTime = Clock.get().uptimeMillis();
+    touchDown(injector, downTime, x, y);
     return downTime;
   }
 
   public static void touchUp(InputInjector injector, long downTime, int x, int y) {
-    injectEvent(injector, newTouchUpEvent(downTime, x, y));
+    touchUp(injector, downTime, Clock.get().uptimeMillis(), x, y);
   }
 
   public static void touchMove(InputInjector injector, long downTime, int x, int y) {
-    injectEvent(Log.VERBOSE, injector, newTouchMoveEvent(downTime, x, y));
+    touchMove(injector, downTime, Clock.get().uptimeMillis(), x, y);
+  }
+
+  /**
+   * Injects a touch down event with the given {@code downTime}, which is also the event time. This
+   * and the overloads of {@link #touchMove} and {@link #touchUp} taking an {@code eventTime} allow
+   * synthesizing a gesture with precomputed event times instead of sleeping between events. See
+   * {@link Gestures}.
+   */
+  public static void touchDown(InputInjector injector, long downTime, int x, int y) {
+    injectEvent(injector, newTouchEvent(downTime, downTime, MotionEvent.ACTION_DOWN, x, y));
+  }
+
+  public static void touchUp(InputInjector injector, long downTime, long eventTime, int x, int y) {
+    injectEvent(injector, newTouchEvent(downTime, eventTime, MotionEvent.ACTION_UP, x, y));
+  }
+
+  public static void touchMove(InputInjector injector, long downTime, long eventTime, int x,
+      int y) {
+    injectEvent(Log.VERBOSE, injector,
+        newTouchEvent(downTime, eventTime, MotionEvent.ACTION_MOVE, x, y));
   }
 
   public static long keyDown(InputInjector injector, int keyCode, int metaState) {
-    long downTime = SystemClock.uptimeMillis();
+    long downTime = Clock.get().uptimeMillis();
     KeyEvent downEvent = newKeyEvent(downTime, downTime, KeyEvent.ACTION_DOWN, keyCode, metaState);
     injectEvent(injector, downEvent);
     return downTime;
@@ -129,7 +186,7 @@ public class Events {
 
   public static void keyUp(InputInjector injector, long downTime, int keyCode, int metaState) {
     injectEvent(injector,
-        newKeyEvent(downTime, SystemClock.uptimeMillis(), KeyEvent.ACTION_UP, keyCode, metaState));
+        newKeyEvent(downTime, Clock.get().uptimeMillis(), KeyEvent.ACTION_UP, keyCode, metaState));
   }
 
   private Events() {}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.appium.droiddriver.actions.InputInjector;
+
+/**
+ * Synthesizes gestures with precomputed event times. Events are injected back to back without
+ * sleeping; the framework (e.g. VelocityTracker) derives speed from the event times, so the gesture
+ * has the intended speed regardless of how long injection actually takes.
+ * <p>
+ * Event times are computed backwards from now, so that no event is in the future when it is
+ * injected. Events are injected as a whole with {@link Events#injectEvents}.
+ * </p>
+ */
+public class Gestures {
+  // The duration of a tap. UiAutomator clickAndSync does this, while
+  // android.test.TouchUtils#clickView uses 1000.
+  private static final long TAP_DURATION_MILLIS = 100L;
+  // The interval between the first ACTION_UP and the second ACTION_DOWN of a
+  // double tap. GestureDetector requires it to be longer than
+  // DOUBLE_TAP_MIN_TIME (40 ms, hidden) and within getDoubleTapTimeout().
+  private static final long DOUBLE_TAP_GAP_MILLIS = 100L;
+
+  /**
+   * Taps at ({@code x}, {@code y}). The ACTION_DOWN is backdated so the tap has a realistic
+   * duration without sleeping; the framework handles a tap that is released before the tap timeout
+   * as a click.
+   */
+  public static void tap(InputInjector injector, int x, int y) {
+    long now = Clock.get().uptimeMillis();
+    List<MotionEvent> events = new ArrayList<MotionEvent>(2);
+    addTap(events, now - TAP_DURATION_MILLIS, now, x, y);
+    Events.injectEvents(injector, events);
+  }
+
+  /**
+   * Double-taps at ({@code x}, {@code y}). Both taps are injected as a whole, with event times such
+   * that the second ACTION_DOWN is within {@link ViewConfiguration#getDoubleTapTimeout} of the
+   * first ACTION_UP, regardless of how long injection takes.
+   */
+  public static void doubleTap(InputInjector injector, int x, int y) {
+    long gapMillis = Math.min(DOUBLE_TAP_GAP_MILLIS, ViewConfiguration.getDoubleTapTimeout() / 2);
+    long tapDurationMillis = Math.min(TAP_DURATION_MILLIS, gapMillis);
+    long secondUpTime = Clock.get().uptimeMillis();
+    long secondDownTime = secondUpTime - tapDurationMillis;
+    long firstUpTime = secondDownTime - gapMillis;
+    long firstDownTime = firstUpTime - tapDurationMillis;
+
+    List<MotionEvent> events = new ArrayList<MotionEvent>(4);
+    addTap(events, firstDownTime, firstUpTime, x, y);
+    addTap(events, secondDownTime, secondUpTime, x, y);
+    Events.injectEvents(injector, events);
+  }
+
+  /**
+   * Presses at ({@code x}, {@code y}) for {@code holdMillis}. Unlike taps, this sleeps between
+   * ACTION_DOWN and ACTION_UP because the framework detects long presses with a timer in real time
+   * rather than from event times.
+   */
+  public static void longPress(InputInjector injector, int x, int y, long holdMillis) {
+    long downTime = Events.touchDown(injector, x, y);
+    Clock.get().sleep(holdMillis);
+    Events.touchUp(injector, downTime, x, y);
+  }
+
+  private static void addTap(List<MotionEvent> events, long downTime, long upTime, int x, int y) {
+    events.add(Events.newTouchEvent(downTime, downTime, MotionEvent.ACTION_DOWN, x, y));
+    events.add(Events.newTouchEvent(downTime, upTime, MotionEvent.ACTION_UP, x, y));
+  }
+
+  /**
+   * Swipes from ({@code startX}, {@code startY}) to ({@code endX}, {@code endY}) along a straight
+   * line.
+   *
+   * @param steps              minimum 2; (steps-1) is the number of {@code ACTION_MOVE} between
+   *                           {@code ACTION_DOWN} and {@code ACTION_UP}
+   * @param moveIntervalMillis the interval between event times of consecutive events
+   */
+  public static void swipe(InputInjector injector, int startX, int startY, int endX, int endY,
+      int steps, long moveIntervalMillis) {
+    swipe(injector, startX, startY, endX, endY, steps, moveIntervalMillis, 0L);
+  }
+
+  /**
+   * Like {@link #swipe(InputInjector, int, int, int, int, int, long)}, but holds the finger still
+   * at the end for {@code holdMillis} before lifting it, so the swipe scrolls the distance moved
+   * without a fling.
+   * <p>
+   * VelocityTracker ignores ACTION_UP, so the hold is reported with a stationary ACTION_MOVE at the
+   * end of it. The tracker treats a pointer that has not moved for more than 40 ms (hidden
+   * ASSUME_POINTER_STOPPED_TIME) as stopped, and computes a velocity of 0 from that ACTION_MOVE;
+   * {@code holdMillis} should therefore be longer than 40.
+   * </p>
+   */
+  public static void swipe(InputInjector injector, int startX, int startY, int endX, int endY,
+      int steps, long moveIntervalMillis, long holdMillis) {
+    steps = Math.max(2, steps);
+    double xStep = ((double) (endX - startX)) / steps;
+    double yStep = ((double) (endY - startY)) / steps;
+    long downTime = Clock.get().uptimeMillis() - steps * moveIntervalMillis - holdMillis;
+
+    List<MotionEvent> events = new ArrayList<MotionEvent>(steps + 3);
+    // First touch starts exactly at the point requested
+    events.add(Events.newTouchEvent(downTime, downTime, MotionEvent.ACTION_DOWN, startX, startY));
+    for (int i = 1; i < steps; i++) {
+      events.add(Events.newTouchEvent(downTime, downTime + i * moveIntervalMillis,
+          MotionEvent.ACTION_MOVE, startX + (int) (xStep * i), startY + (int) (yStep * i)));
+    }
+    long endTime = downTime + steps * moveIntervalMillis;
+    if (holdMillis > 0) {
+      events.add(Events.newTouchEvent(downTime, endTime, MotionEvent.ACTION_MOVE, endX, endY));
+      endTime += holdMillis;
+      events.add(Events.newTouchEvent(downTime, endTime, MotionEvent.ACTION_MOVE, endX, endY));
+    }
+    events.add(Events.newTouchEvent(downTime, endTime, MotionEvent.ACTION_UP, endX, endY));
+    Events.injectEvents(injector, events);
+  }
+
+  private Gestures() {}
+}
@@ -20,17 +20,15 @@ import android.app.Instrumentation;
 import android.content.Context;
 import android.os.Bundle;
 import android.os.Looper;
-import android.util.Log;
 
+import java.util.Collections;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import io.appium.droiddriver.exceptions.DroidDriverException;
 import io.appium.droiddriver.exceptions.TimeoutException;
 import io.appium.droiddriver.exceptions.UnrecoverableException;
+import io.appium.droiddriver.util.MainSyncDispatcher.MainSyncTask;
 
 /**
  * Static utility methods pertaining to {@link Instrumentation}.
@@ -39,12 +37,7 @@ public class InstrumentationUtils {
   private static Instrumentation instrumentation;
   private static Bundle options;
   private static long runOnMainSyncTimeoutMillis;
-  private static final Runnable EMPTY_RUNNABLE = new Runnable() {
-    @Override
-    public void run() {
-    }
-  };
-  private static final Executor RUN_ON_MAIN_SYNC_EXECUTOR = Executors.newSingleThreadExecutor();
+  private static MainSyncDispatcher mainSyncDispatcher;
 
   /**
    * Initializes this class. If you use a runner that is not DroidDriver-aware, you need to call
@@ -60,6 +53,10 @@ public class InstrumentationUtils {
 
     String timeoutString = getD2Option("runOnMainSyncTimeout");
     runOnMainSyncTimeoutMillis = timeoutString == null ? 10000L : Long.parseLong(timeoutString);
+    String batchWindowString = getD2Option("runOnMainSyncBatchWindow");
+    long batchWindowMillis = batchWindowString == null ? 0L : Long.parseLong(batchWindowString);
+    mainSyncDispatcher = new MainSyncDispatcher(instrumentation, batchWindowMillis);
+    ActionStats.setEnabled(Boolean.parseBoolean(getD2Option("actionStats")));
   }
 
   private static void checkInitialized() {
@@ -107,23 +104,11 @@ public class InstrumentationUtils {
   /**
    * Tries to wait for an idle state on the main thread on best-effort basis up to {@code
    * timeoutMillis}. The main thread may not enter the idle state when animation is playing, for
-   * example, the ProgressBar.
+   * example, the ProgressBar. See {@link MainLooperIdleTracker} for what is considered idle.
    */
   public static boolean tryWaitForIdleSync(long timeoutMillis) {
     validateNotAppThread();
-    FutureTask<Void> emptyTask = new FutureTask<Void>(EMPTY_RUNNABLE, null);
-    instrumentation.waitForIdle(emptyTask);
-
-    try {
-      emptyTask.get(timeoutMillis, TimeUnit.MILLISECONDS);
-    } catch (java.util.concurrent.TimeoutException e) {
-      Logs.log(Log.INFO,
-          "Timed out after " + timeoutMillis + " milliseconds waiting for idle on main looper");
-      return false;
-    } catch (Throwable t) {
-      throw DroidDriverException.propagate(t);
-    }
-    return true;
+    return MainLooperIdleTracker.waitForIdle(timeoutMillis);
   }
 
   public static void runOnMainSyncWithTimeout(final Runnable runnable) {
@@ -143,28 +128,35 @@ public class InstrumentationUtils {
    * because the latter may hang. You may turn off this behavior by setting {@code "-e
    * dd.runOnMainSyncTimeout 0"} on the am command line.</p>The {@code callable} may never run, for
    * example, if the main Looper has exited due to uncaught exception.
+   * <p>
+   * Calls from different threads that arrive while a previous call is waiting for the main thread
+   * are coalesced into one main looper message. Setting {@code "-e dd.runOnMainSyncBatchWindow
+   * <millis>"} widens the window in which calls are coalesced. To group calls made from the same
+   * thread, use {@link MainSyncBatch}.
+   * </p>
+   * If the main looper is blocked so that a call times out while the worker has been waiting for
+   * the main thread for the whole time limit, the worker is replaced and subsequent calls fail fast
+   * with {@link TimeoutException} until the main looper recovers. See {@link #getMainSyncHealth}.
    */
   public static <V> V runOnMainSyncWithTimeout(Callable<V> callable) {
     validateNotAppThread();
-    final RunOnMainSyncFutureTask<V> futureTask = new RunOnMainSyncFutureTask<>(callable);
+    checkInitialized();
+    MainSyncTask<V> futureTask = new MainSyncTask<V>(callable);
 
     if (runOnMainSyncTimeoutMillis <= 0L) {
       // Call runOnMainSync on current thread without time limit.
-      futureTask.runOnMainSyncNoThrow();
+      mainSyncDispatcher.runOnMainSync(Collections.singletonList(futureTask));
     } else {
-      RUN_ON_MAIN_SYNC_EXECUTOR.execute(new Runnable() {
-        @Override
-        public void run() {
-          futureTask.runOnMainSyncNoThrow();
-        }
-      });
+      mainSyncDispatcher.dispatch(futureTask);
     }
 
     try {
       return futureTask.get(runOnMainSyncTimeoutMillis, TimeUnit.MILLISECONDS);
     } catch (java.util.concurrent.TimeoutException e) {
+      mainSyncDispatcher.onTimeout(runOnMainSyncTimeoutMillis);
       throw new TimeoutException("Timed out after " + runOnMainSyncTimeoutMillis
-          + " milliseconds waiting for Instrumentation.runOnMainSync", e);
+          + " milliseconds waiting for Instrumentation.runOnMainSync. "
+          + mainSyncDispatcher.getHealth(), e);
     } catch (Throwable t) {
       throw DroidDriverException.propagate(t);
     } finally {
@@ -172,18 +164,13 @@ public class InstrumentationUtils {
     }
   }
 
-  private static class RunOnMainSyncFutureTask<V> extends FutureTask<V> {
-    public RunOnMainSyncFutureTask(Callable<V> callable) {
-      super(callable);
-    }
-
-    public void runOnMainSyncNoThrow() {
-      try {
-        getInstrumentation().runOnMainSync(this);
-      } catch (Throwable e) {
-        setException(e);
-      }
-    }
+  /**
+   * Returns the health of the worker that runs {@link #runOnMainSyncWithTimeout} calls, for
+   * example, to include in failure reports.
+   */
+  public static MainSyncHealth getMainSyncHealth() {
+    checkInitialized();
+    return mainSyncDispatcher.getHealth();
   }
 
   private static void validateNotAppThread() {
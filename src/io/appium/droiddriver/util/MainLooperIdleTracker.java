@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.appium.droiddriver.exceptions.DroidDriverException;
+
+/**
+ * Tracks when the main looper settles. The main looper is considered idle when its {@link
+ * MessageQueue} is idle, no message is due within {@link #getHorizonMillis} (e.g. a pending tap
+ * timeout), and no more {@link Choreographer} frames are scheduled.
+ * <p>
+ * Some apps never stop scheduling frames, for example, when a ProgressBar is shown. Instead of
+ * waiting until timeout, frames are only watched for up to {@link #getMaxSettleFrames} frames;
+ * after that the main looper is considered idle once the message queue is.
+ * </p>
+ * Pending messages and frames are inspected via reflection on framework internals on best-effort
+ * basis; if that fails, only the idleness of the message queue is considered.
+ */
+public class MainLooperIdleTracker {
+  private static volatile long horizonMillis = 100L;
+  private static volatile int maxSettleFrames = 10;
+
+  private static Field messagesField;
+  private static Field whenField;
+  private static Field targetField;
+  private static Field frameScheduledField;
+  private static boolean reflectionFailed;
+
+  /**
+   * Gets the horizon within which a delayed message on the main looper keeps it from being
+   * considered idle.
+   */
+  public static long getHorizonMillis() {
+    return horizonMillis;
+  }
+
+  /**
+   * Sets the horizon within which a delayed message on the main looper keeps it from being
+   * considered idle. Defaults to 100.
+   */
+  public static void setHorizonMillis(long horizonMillis) {
+    MainLooperIdleTracker.horizonMillis = horizonMillis;
+  }
+
+  /**
+   * Gets the maximum number of frames to watch for animations to end.
+   */
+  public static int getMaxSettleFrames() {
+    return maxSettleFrames;
+  }
+
+  /**
+   * Sets the maximum number of frames to watch for animations to end. Defaults to 10. 0 means
+   * frames are not watched.
+   */
+  public static void setMaxSettleFrames(int maxSettleFrames) {
+    MainLooperIdleTracker.maxSettleFrames = maxSettleFrames;
+  }
+
+  /**
+   * Waits for the main looper to settle up to {@code timeoutMillis}. This cannot be called from the
+   * main thread.
+   *
+   * @return whether the main looper settled before timeout
+   */
+  public static boolean waitForIdle(long timeoutMillis) {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      throw new DroidDriverException(
+          "This method can not be called from the main application thread");
+    }
+    final IdleWaiter waiter = new IdleWaiter();
+    new Handler(Looper.getMainLooper()).post(new Runnable() {
+      @Override
+      public void run() {
+        Looper.myQueue().addIdleHandler(waiter);
+      }
+    });
+
+    try {
+      if (waiter.latch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      throw DroidDriverException.propagate(e);
+    } finally {
+      waiter.cancelled = true;
+    }
+    Logs.log(Log.INFO,
+        "Timed out after " + timeoutMillis + " milliseconds waiting for idle on main looper");
+    return false;
+  }
+
+  /**
+   * Runs on the main thread. Alternates between waiting for the message queue to be idle and
+   * waiting for a frame, until the queue is idle and no frame is scheduled.
+   */
+  private static class IdleWaiter implements MessageQueue.IdleHandler {
+    final CountDownLatch latch = new CountDownLatch(1);
+    volatile boolean cancelled;
+    private int framesWaited;
+
+    @Override
+    public boolean queueIdle() {
+      if (cancelled) {
+        return false;
+      }
+      if (hasMessageDueWithin(horizonMillis)) {
+        // Stay registered; called again the next time the queue becomes idle.
+        return true;
+      }
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+          && (framesWaited == 0 || isFrameScheduled()) && framesWaited < maxSettleFrames) {
+        framesWaited++;
+        waitForFrame();
+        return false;
+      }
+      latch.countDown();
+      return false;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void waitForFrame() {
+      Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          if (!cancelled) {
+            Looper.myQueue().addIdleHandler(IdleWaiter.this);
+          }
+        }
+      });
+    }
+  }
+
+  // Called on the main thread
+  private static boolean hasMessageDueWithin(long horizonMillis) {
+    if (!initReflection()) {
+      return false;
+    }
+    MessageQueue queue = Looper.myQueue();
+    try {
+      synchronized (queue) {
+        Message head = (Message) messagesField.get(queue);
+        if (head == null) {
+          return false;
+        }
+        // A message without target is a sync barrier, e.g. for a pending traversal.
+        return targetField.get(head) == null
+            || whenField.getLong(head) - SystemClock.uptimeMillis() <= horizonMillis;
+      }
+    } catch (IllegalAccessException e) {
+      onReflectionFailed(e);
+      return false;
+    }
+  }
+
+  // Called on the main thread
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static boolean isFrameScheduled() {
+    if (!initReflection() || frameScheduledField == null) {
+      return false;
+    }
+    try {
+      return frameScheduledField.getBoolean(Choreographer.getInstance());
+    } catch (IllegalAccessException e) {
+      onReflectionFailed(e);
+      return false;
+    }
+  }
+
+  // Called on the main thread
+  private static boolean initReflection() {
+    if (reflectionFailed) {
+      return false;
+    }
+    if (messagesField != null) {
+      return true;
+    }
+    try {
+      Field messages = MessageQueue.class.getDeclaredField("mMessages");
+      messages.setAccessible(true);
+      Field when = Message.class.getDeclaredField("when");
+      when.setAccessible(true);
+      Field target = Message.class.getDeclaredField("target");
+      target.setAccessible(true);
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+        Field frameScheduled = Choreographer.class.getDeclaredField("mFrameScheduled");
+        frameScheduled.setAccessible(true);
+        frameScheduledField = frameScheduled;
+      }
+      whenField = when;
+      targetField = target;
+      messagesField = messages;
+      return true;
+    } catch (Exception e) {
+      onReflectionFailed(e);
+      return false;
+    }
+  }
+
+  private static void onReflectionFailed(Exception e) {
+    reflectionFailed = true;
+    Logs.log(Log.WARN, e, "Cannot inspect main looper; only checking whether it is idle");
+  }
+
+  private MainLooperIdleTracker() {}
+}
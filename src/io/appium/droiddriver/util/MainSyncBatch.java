@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import io.appium.droiddriver.exceptions.DroidDriverException;
+
+/**
+ * Groups {@link Callable}s to run on the main thread in a single main looper message, instead of
+ * paying the cross-thread round trip of {@link InstrumentationUtils#runOnMainSyncWithTimeout} for
+ * each of them. The whole batch shares the time limit of one {@code runOnMainSyncWithTimeout} call.
+ * <p>
+ * A Callable that throws does not prevent the rest of the batch from running; its exception is
+ * rethrown by {@link Result#get}.
+ * </p>
+ * Example:
+ * <pre>
+ * MainSyncBatch batch = new MainSyncBatch();
+ * Result&lt;String&gt; title = batch.add(getTitleCallable);
+ * Result&lt;Boolean&gt; shown = batch.add(isShownCallable);
+ * batch.run();
+ * if (shown.get()) { ... }
+ * </pre>
+ */
+public class MainSyncBatch {
+  /**
+   * The result of a Callable in a batch.
+   */
+  public static class Result<V> {
+    private final FutureTask<V> futureTask;
+
+    private Result(Callable<V> callable) {
+      futureTask = new FutureTask<V>(callable);
+    }
+
+    /**
+     * Returns the value returned by the Callable, or rethrows its exception.
+     *
+     * @throws DroidDriverException if the Callable has not run, for example, the batch has not run
+     *                              or timed out before reaching this Callable
+     */
+    public V get() {
+      if (!futureTask.isDone()) {
+        throw new DroidDriverException("The batch has not run this callable");
+      }
+      try {
+        return futureTask.get();
+      } catch (ExecutionException e) {
+        throw DroidDriverException.propagate(e.getCause());
+      } catch (Throwable t) {
+        throw DroidDriverException.propagate(t);
+      }
+    }
+
+    /**
+     * Returns whether the Callable has run.
+     */
+    public boolean isDone() {
+      return futureTask.isDone();
+    }
+  }
+
+  private final List<Result<?>> results = new ArrayList<Result<?>>();
+
+  /**
+   * Adds {@code callable} to this batch.
+   *
+   * @return the {@link Result} to retrieve the value after {@link #run} returns
+   */
+  public <V> Result<V> add(Callable<V> callable) {
+    Result<V> result = new Result<V>(Preconditions.checkNotNull(callable));
+    results.add(result);
+    return result;
+  }
+
+  public int size() {
+    return results.size();
+  }
+
+  /**
+   * Runs all Callables added so far on the main thread in one message. Callables that have already
+   * run are not run again.
+   *
+   * @throws io.appium.droiddriver.exceptions.TimeoutException if the batch does not complete within
+   *                                                           the time limit of {@link
+   *                                                           InstrumentationUtils#runOnMainSyncWithTimeout}
+   */
+  public void run() {
+    if (results.isEmpty()) {
+      return;
+    }
+    final List<Result<?>> snapshot = new ArrayList<Result<?>>(results);
+    InstrumentationUtils.runOnMainSyncWithTimeout(new Runnable() {
+      @Override
+      public void run() {
+        for (Result<?> result : snapshot) {
+          result.futureTask.run();
+        }
+      }
+    });
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("size", size()).toString();
+  }
+}
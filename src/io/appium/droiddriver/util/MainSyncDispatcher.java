@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+import android.app.Instrumentation;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import io.appium.droiddriver.exceptions.TimeoutException;
+
+/**
+ * Dispatches tasks to the main thread via {@link Instrumentation#runOnMainSync}. Tasks that are
+ * submitted while a previous dispatch is in progress, or within {@code batchWindowMillis} of each
+ * other, are coalesced and run in a single main looper message.
+ * <p>
+ * {@link Instrumentation#runOnMainSync} cannot be interrupted. If the main looper is blocked, the
+ * worker thread calling it is stuck. When a caller times out and finds the worker has been busy for
+ * at least as long as the timeout, the worker is abandoned and replaced, and pending tasks are
+ * failed. Until the abandoned worker returns, which means the main looper has processed its message,
+ * the main looper is considered blocked and new tasks fail fast instead of waiting for the full
+ * timeout.
+ * </p>
+ */
+class MainSyncDispatcher {
+  /**
+   * A {@link FutureTask} that can be completed exceptionally by the dispatcher if the task never
+   * gets a chance to run on the main thread.
+   */
+  static class MainSyncTask<V> extends FutureTask<V> {
+    MainSyncTask(Callable<V> callable) {
+      super(callable);
+    }
+
+    void fail(Throwable t) {
+      setException(t);
+    }
+  }
+
+  private class Worker extends Thread {
+    // The uptime when the current batch was dispatched; -1 if the worker is waiting for tasks. It
+    // is set to -1 only in onBatchDone.
+    volatile long busySinceMillis = -1;
+    // Guarded by MainSyncDispatcher.this
+    boolean abandoned;
+
+    Worker(int id) {
+      super("DroidDriver-MainSync-" + id);
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        List<MainSyncTask<?>> batch = new ArrayList<MainSyncTask<?>>();
+        try {
+          batch.add(pendingTasks.take());
+        } catch (InterruptedException e) {
+          return;
+        }
+        if (batchWindowMillis > 0) {
+          SystemClock.sleep(batchWindowMillis);
+        }
+        pendingTasks.drainTo(batch);
+
+        busySinceMillis = SystemClock.uptimeMillis();
+        runOnMainSync(batch);
+        if (!onBatchDone(this)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private final Instrumentation instrumentation;
+  private final long batchWindowMillis;
+  private final BlockingQueue<MainSyncTask<?>> pendingTasks =
+      new LinkedBlockingQueue<MainSyncTask<?>>();
+  // Guarded by this
+  private Worker worker;
+  private Worker blockingWorker;
+  private long blockedSinceMillis = -1;
+  private int workerCount;
+  private int stuckWorkerCount;
+  private int failedFastCount;
+
+  /**
+   * @param instrumentation   the Instrumentation to run tasks with
+   * @param batchWindowMillis how long to wait for more tasks before dispatching a batch; 0 means
+   *                          only tasks submitted while a previous dispatch is in progress are
+   *                          coalesced
+   */
+  MainSyncDispatcher(Instrumentation instrumentation, long batchWindowMillis) {
+    this.instrumentation = instrumentation;
+    this.batchWindowMillis = batchWindowMillis;
+  }
+
+  /**
+   * Queues {@code task} to run on the main thread and returns immediately. The caller waits on
+   * {@code task} for the result, and calls {@link #onTimeout} if it gives up.
+   *
+   * @throws TimeoutException if the main looper is known to be blocked
+   */
+  synchronized void dispatch(MainSyncTask<?> task) {
+    if (blockingWorker != null) {
+      failedFastCount++;
+      throw new TimeoutException(String.format(
+          "Main looper has been blocked for %d milliseconds; failing fast. %s",
+          SystemClock.uptimeMillis() - blockedSinceMillis, getHealth()));
+    }
+    if (worker == null) {
+      worker = new Worker(++workerCount);
+      worker.start();
+    }
+    pendingTasks.add(task);
+  }
+
+  /**
+   * Called by a caller that has waited {@code timeoutMillis} for its task. If the worker has been
+   * busy for at least {@code timeoutMillis}, it is considered stuck: it is abandoned, pending tasks
+   * are failed, and the main looper is considered blocked until the worker returns.
+   */
+  synchronized void onTimeout(long timeoutMillis) {
+    if (worker == null) {
+      return;
+    }
+    long busySinceMillis = worker.busySinceMillis;
+    if (busySinceMillis < 0 || SystemClock.uptimeMillis() - busySinceMillis < timeoutMillis) {
+      return;
+    }
+
+    stuckWorkerCount++;
+    worker.abandoned = true;
+    blockingWorker = worker;
+    blockedSinceMillis = busySinceMillis;
+    worker = null;
+    Logs.log(Log.WARN, "Abandoned stuck worker " + blockingWorker.getName() + ". " + getHealth());
+
+    List<MainSyncTask<?>> stranded = new ArrayList<MainSyncTask<?>>();
+    pendingTasks.drainTo(stranded);
+    TimeoutException e = new TimeoutException("Main looper is blocked; task not dispatched");
+    for (MainSyncTask<?> task : stranded) {
+      task.fail(e);
+    }
+  }
+
+  /**
+   * Called by {@code worker} when its batch has run. Marking the worker idle is atomic with the
+   * check in {@link #onTimeout}, so a worker is abandoned only while it is stuck in a batch, and an
+   * abandoned worker always gets here to unblock dispatching instead of waiting for tasks.
+   *
+   * @return whether the worker should wait for more tasks
+   */
+  private synchronized boolean onBatchDone(Worker worker) {
+    worker.busySinceMillis = -1;
+    if (!worker.abandoned) {
+      return true;
+    }
+    if (worker == blockingWorker) {
+      Logs.logfmt(Log.INFO, "Main looper unblocked after %d milliseconds",
+          SystemClock.uptimeMillis() - blockedSinceMillis);
+      blockingWorker = null;
+      blockedSinceMillis = -1;
+    }
+    return false;
+  }
+
+  /**
+   * Runs {@code tasks} on the main thread in one message, blocking the current thread without time
+   * limit. A task that has been cancelled by its caller (e.g. after a timeout) is skipped.
+   */
+  void runOnMainSync(final List<? extends MainSyncTask<?>> tasks) {
+    try {
+      instrumentation.runOnMainSync(new Runnable() {
+        @Override
+        public void run() {
+          for (MainSyncTask<?> task : tasks) {
+            task.run();
+          }
+        }
+      });
+    } catch (Throwable e) {
+      for (MainSyncTask<?> task : tasks) {
+        task.fail(e);
+      }
+    }
+  }
+
+  synchronized MainSyncHealth getHealth() {
+    long now = SystemClock.uptimeMillis();
+    long busySinceMillis = worker == null ? -1 : worker.busySinceMillis;
+    return new MainSyncHealth(blockingWorker != null,
+        blockingWorker == null ? 0 : now - blockedSinceMillis,
+        busySinceMillis < 0 ? 0 : now - busySinceMillis, pendingTasks.size(), stuckWorkerCount,
+        failedFastCount);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+/**
+ * A snapshot of the health of the worker that runs {@link InstrumentationUtils#runOnMainSyncWithTimeout}
+ * calls. Returned by {@link InstrumentationUtils#getMainSyncHealth}.
+ */
+public final class MainSyncHealth {
+  private final boolean mainLooperBlocked;
+  private final long blockedMillis;
+  private final long busyMillis;
+  private final int queueDepth;
+  private final int stuckWorkerCount;
+  private final int failedFastCount;
+
+  MainSyncHealth(boolean mainLooperBlocked, long blockedMillis, long busyMillis, int queueDepth,
+      int stuckWorkerCount, int failedFastCount) {
+    this.mainLooperBlocked = mainLooperBlocked;
+    this.blockedMillis = blockedMillis;
+    this.busyMillis = busyMillis;
+    this.queueDepth = queueDepth;
+    this.stuckWorkerCount = stuckWorkerCount;
+    this.failedFastCount = failedFastCount;
+  }
+
+  /**
+   * Returns whether a worker has been abandoned and has not returned from the main looper, in which
+   * case {@link InstrumentationUtils#runOnMainSyncWithTimeout} fails fast.
+   */
+  public boolean isMainLooperBlocked() {
+    return mainLooperBlocked;
+  }
+
+  /**
+   * Returns how long the main looper has been blocked, or 0 if it is not known to be blocked.
+   */
+  public long getBlockedMillis() {
+    return blockedMillis;
+  }
+
+  /**
+   * Returns how long the current worker has been waiting for the main thread, or 0 if it is idle.
+   */
+  public long getBusyMillis() {
+    return busyMillis;
+  }
+
+  /**
+   * Returns the number of tasks waiting to be dispatched to the main thread.
+   */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Returns the number of workers that have been abandoned because they were stuck.
+   */
+  public int getStuckWorkerCount() {
+    return stuckWorkerCount;
+  }
+
+  /**
+   * Returns the number of calls that failed fast because the main looper was known to be blocked.
+   */
+  public int getFailedFastCount() {
+    return failedFastCount;
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("mainLooperBlocked", mainLooperBlocked)
+        .add("blockedMillis", blockedMillis).add("busyMillis", busyMillis)
+        .add("queueDepth", queueDepth).add("stuckWorkerCount", stuckWorkerCount)
+        .add("failedFastCount", failedFastCount).toString();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2015 DroidDriver committers
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.appium.droiddriver.util;
+
+/**
+ * A {@link Clock} whose time passes only when {@link #sleep} or
+ * {@link #advance} is called. Sleeping returns immediately, so code that polls
+ * with a 10 second timeout times out in microseconds, at exactly the same
+ * point on every run.
+ * <p>
+ * Since sleeping does not block, a VirtualClock is meant for code that waits
+ * on one thread, not for coordinating threads.
+ * </p>
+ */
+public class VirtualClock extends Clock {
+  private long uptimeMillis;
+
+  /**
+   * Creates a VirtualClock starting at 0.
+   */
+  public VirtualClock() {
+    this(0L);
+  }
+
+  public VirtualClock(long startMillis) {
+    this.uptimeMillis = startMillis;
+  }
+
+  @Override
+  public synchronized long uptimeMillis() {
+    return uptimeMillis;
+  }
+
+  /**
+   * Advances this clock by {@code millis} and returns immediately.
+   */
+  @Override
+  public void sleep(long millis) {
+    advance(millis);
+  }
+
+  /**
+   * Advances this clock by {@code millis}; negative values are ignored.
+   */
+  public synchronized void advance(long millis) {
+    if (millis > 0) {
+      uptimeMillis += millis;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Strings.toStringHelper(this).add("uptimeMillis", uptimeMillis()).toString();
+  }
+}